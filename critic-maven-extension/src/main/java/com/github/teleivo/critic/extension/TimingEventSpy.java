@@ -0,0 +1,130 @@
+package com.github.teleivo.critic.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.eventspy.AbstractEventSpy;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Records when each project and mojo starts and ends in a JSON lines file
+ * critic can read instead of the reactor summary of the build log.
+ * <p>
+ * Register it as a core extension in {@code .mvn/extensions.xml} or pass it
+ * using {@code -Dmaven.ext.class.path=critic-maven-extension.jar}. The
+ * records are written to {@code critic-timings.jsonl} in the directory the
+ * build was started in unless {@code -Dcritic.timings=<file>} is given. The
+ * file is not written to {@code target} as {@code mvn clean} deletes it while
+ * the build is recorded.
+ */
+@Named( "critic" )
+@Singleton
+public class TimingEventSpy extends AbstractEventSpy
+{
+
+    static final String TIMINGS_PROPERTY = "critic.timings";
+
+    private TimingRecorder recorder;
+
+    @Override
+    public void onEvent( Object event )
+        throws Exception
+    {
+        if ( !(event instanceof ExecutionEvent) )
+        {
+            return;
+        }
+        long nanos = System.nanoTime();
+        ExecutionEvent e = (ExecutionEvent) event;
+        String thread = Thread.currentThread().getName();
+        switch ( e.getType() )
+        {
+        case SessionStarted:
+            recorder = new TimingRecorder( Files.newBufferedWriter( output( e.getSession() ),
+                StandardCharsets.UTF_8 ) );
+            recorder.sessionStarted( nanos, System.currentTimeMillis() );
+            break;
+        case ProjectStarted:
+            record( "project-started", e, nanos, thread );
+            break;
+        case ProjectSucceeded:
+            record( "project-succeeded", e, nanos, thread );
+            break;
+        case ProjectFailed:
+            record( "project-failed", e, nanos, thread );
+            break;
+        case MojoStarted:
+            record( "mojo-started", e, nanos, thread );
+            break;
+        case MojoSucceeded:
+            record( "mojo-succeeded", e, nanos, thread );
+            break;
+        case MojoFailed:
+            record( "mojo-failed", e, nanos, thread );
+            break;
+        case SessionEnded:
+            close();
+            break;
+        default:
+            break;
+        }
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        if ( recorder != null )
+        {
+            recorder.close();
+            recorder = null;
+        }
+    }
+
+    private void record( String type, ExecutionEvent e, long nanos, String thread )
+        throws IOException
+    {
+        if ( recorder == null )
+        {
+            return;
+        }
+        MavenProject p = e.getProject();
+        String project = p.getGroupId() + ":" + p.getArtifactId();
+        MojoExecution m = e.getMojoExecution();
+        if ( m == null )
+        {
+            recorder.project( type, project, nanos, thread );
+            // make finished projects visible to anyone following the file
+            if ( !type.endsWith( "started" ) )
+            {
+                recorder.flush();
+            }
+            return;
+        }
+        recorder.mojo( type, project, m.getGroupId() + ":" + m.getArtifactId() + ":" + m.getVersion() + ":"
+            + m.getGoal(), m.getExecutionId(), nanos, thread );
+    }
+
+    private static Path output( MavenSession session )
+        throws IOException
+    {
+        String file = session.getUserProperties().getProperty( TIMINGS_PROPERTY,
+            session.getSystemProperties().getProperty( TIMINGS_PROPERTY ) );
+        Path output = file != null ? Paths.get( file )
+            : Paths.get( session.getExecutionRootDirectory(), "critic-timings.jsonl" );
+        if ( output.toAbsolutePath().getParent() != null )
+        {
+            Files.createDirectories( output.toAbsolutePath().getParent() );
+        }
+        return output;
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.teleivo.critic.extension;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes timing records as JSON lines. Every record is a flat JSON object on
+ * its own line like
+ *
+ * <pre>
+ * {"type":"project-started","project":"org.hisp.dhis:dhis-api","nanos":1234,"thread":"main"}
+ * </pre>
+ *
+ * Records are written from the threads building projects in parallel so
+ * writing is synchronized.
+ */
+public class TimingRecorder implements Closeable
+{
+
+    private final BufferedWriter out;
+
+    public TimingRecorder( Writer out )
+    {
+        this.out = new BufferedWriter( out );
+    }
+
+    /**
+     * Records that the build session started. Contains the wall clock time so
+     * the monotonic nanos of the other records can be related to it.
+     */
+    public synchronized void sessionStarted( long nanos, long epochMillis )
+        throws IOException
+    {
+        out.write( "{\"type\":\"session-started\",\"nanos\":" + nanos + ",\"epochMillis\":" + epochMillis + "}" );
+        out.newLine();
+    }
+
+    public synchronized void project( String type, String project, long nanos, String thread )
+        throws IOException
+    {
+        out.write( "{\"type\":" + quote( type ) + ",\"project\":" + quote( project ) + ",\"nanos\":" + nanos
+            + ",\"thread\":" + quote( thread ) + "}" );
+        out.newLine();
+    }
+
+    public synchronized void mojo( String type, String project, String mojo, String execution, long nanos,
+        String thread )
+        throws IOException
+    {
+        out.write( "{\"type\":" + quote( type ) + ",\"project\":" + quote( project ) + ",\"mojo\":" + quote( mojo )
+            + ",\"execution\":" + quote( execution ) + ",\"nanos\":" + nanos + ",\"thread\":" + quote( thread )
+            + "}" );
+        out.newLine();
+    }
+
+    public synchronized void flush()
+        throws IOException
+    {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close()
+        throws IOException
+    {
+        out.close();
+    }
+
+    static String quote( String s )
+    {
+        if ( s == null )
+        {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder( s.length() + 2 ).append( '"' );
+        for ( int i = 0; i < s.length(); i++ )
+        {
+            char c = s.charAt( i );
+            if ( c == '"' || c == '\\' )
+            {
+                sb.append( '\\' ).append( c );
+            }
+            else if ( c < 0x20 )
+            {
+                sb.append( String.format( "\\u%04x", (int) c ) );
+            }
+            else
+            {
+                sb.append( c );
+            }
+        }
+        return sb.append( '"' ).toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.teleivo.critic.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+class TimingRecorderTest
+{
+
+    @Test
+    void recordsOneJsonObjectPerLine()
+        throws IOException
+    {
+        StringWriter out = new StringWriter();
+        try ( TimingRecorder recorder = new TimingRecorder( out ) )
+        {
+            recorder.sessionStarted( 1, 1638780242000L );
+            recorder.project( "project-started", "org.hisp.dhis:dhis-api", 10, "main" );
+            recorder.mojo( "mojo-succeeded", "org.hisp.dhis:dhis-api",
+                "org.apache.maven.plugins:maven-compiler-plugin:3.8.1:compile", "default-compile", 20,
+                "BuilderThread 1" );
+        }
+
+        String n = System.lineSeparator();
+        assertEquals( "{\"type\":\"session-started\",\"nanos\":1,\"epochMillis\":1638780242000}" + n
+            + "{\"type\":\"project-started\",\"project\":\"org.hisp.dhis:dhis-api\",\"nanos\":10,\"thread\":\"main\"}" + n
+            + "{\"type\":\"mojo-succeeded\",\"project\":\"org.hisp.dhis:dhis-api\",\"mojo\":\"org.apache.maven.plugins:maven-compiler-plugin:3.8.1:compile\",\"execution\":\"default-compile\",\"nanos\":20,\"thread\":\"BuilderThread 1\"}"
+            + n, out.toString() );
+    }
+
+    @Test
+    void quoteEscapesQuotesAndControlCharacters()
+    {
+        assertEquals( "\"a\\\"b\\\\c\\u000a\"", TimingRecorder.quote( "a\"b\\c\n" ) );
+        assertEquals( "null", TimingRecorder.quote( null ) );
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.teleivo.critic;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.github.teleivo.critic.maven.BuildEvents;
+import com.github.teleivo.critic.maven.CriticalPath;
+import com.github.teleivo.critic.maven.Module;
+import com.github.teleivo.critic.maven.ReactorSummary;
+
+import picocli.CommandLine.ArgGroup;
+import picocli.CommandLine.Option;
+
+/**
+ * Inputs needed to find the critical path shared by all commands. Build
+ * timings are either read from the reactor summary in a Maven build log or
+ * from the file recorded by the critic-maven-extension.
+ */
+class BuildInputs
+{
+
+    @Option( names = { "-d",
+        "--dependency-graph" }, required = true, description = "Input DOT file of Maven dependency graph generated using https://github.com/ferstl/depgraph-maven-plugin" )
+    private File dependencyGraph;
+
+    @ArgGroup( exclusive = true, multiplicity = "1" )
+    private Timings timings;
+
+    static class Timings
+    {
+        @ArgGroup( exclusive = false )
+        private ReactorLog reactorLog;
+
+        @Option( names = { "-e",
+            "--build-events" }, required = true, description = "Project timings recorded by the critic-maven-extension.\nUse instead of --build-log and --artifact-mapping." )
+        private File buildEvents;
+    }
+
+    static class ReactorLog
+    {
+        @Option( names = { "-b",
+            "--build-log" }, required = true, description = "Maven build log containing the Maven 'Reactor Summary for' build timings.\nYou can run a build with '--log-file' to directly store it in a file." )
+        private File mavenBuildLog;
+
+        @Option( names = { "-a",
+            "--artifact-mapping" }, required = true, description = "CSV mapping Maven project names to project coordinates.\nExpects 2 columns [name,coordinate]" )
+        private File mavenArtifactMapping;
+    }
+
+    File getDependencyGraph()
+    {
+        return dependencyGraph;
+    }
+
+    /**
+     * Returns the Maven build log or null if timings are read from build
+     * events.
+     */
+    File getMavenBuildLog()
+    {
+        return timings.reactorLog != null ? timings.reactorLog.mavenBuildLog : null;
+    }
+
+    /**
+     * Returns the Maven project names mapped to their coordinates or an empty
+     * map if timings are read from build events.
+     */
+    Map<String, String> getProjectNames()
+        throws IOException
+    {
+        if ( timings.reactorLog == null )
+        {
+            return Collections.emptyMap();
+        }
+        return ReactorSummary.parseNameToCoordinates( timings.reactorLog.mavenArtifactMapping.toPath() );
+    }
+
+    /**
+     * Returns all files the inputs are read from.
+     */
+    List<File> getFiles()
+    {
+        List<File> files = new ArrayList<>();
+        files.add( dependencyGraph );
+        if ( timings.buildEvents != null )
+        {
+            files.add( timings.buildEvents );
+        }
+        else
+        {
+            files.add( timings.reactorLog.mavenBuildLog );
+            files.add( timings.reactorLog.mavenArtifactMapping );
+        }
+        return files;
+    }
+
+    CriticalPath criticalPath()
+        throws IOException
+    {
+        if ( timings.buildEvents != null )
+        {
+            return new CriticalPath( BuildEvents.parse( timings.buildEvents.toPath() ), dependencyGraph );
+        }
+        return new CriticalPath( timings.reactorLog.mavenArtifactMapping, timings.reactorLog.mavenBuildLog,
+            dependencyGraph );
+    }
+
+    /**
+     * Reads the module build durations of another build in the same format
+     * as the inputs.
+     */
+    Map<Module, Module> readTimings( File file )
+        throws IOException
+    {
+        if ( timings.buildEvents != null )
+        {
+            return BuildEvents.parse( file.toPath() );
+        }
+        return ReactorSummary.parse( timings.reactorLog.mavenArtifactMapping.toPath(), file.toPath() );
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.teleivo.critic;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import com.github.teleivo.critic.maven.BuildCache;
+import com.github.teleivo.critic.maven.Module;
+import com.github.teleivo.critic.maven.ModuleGraph;
+import com.github.teleivo.critic.maven.Sensitivity;
+import com.github.teleivo.critic.maven.Sensitivity.Gain;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Command( name = "critic-cache", description = "Finds the critical path of a build using the Maven build cache extension, of the same build without any cache hits and how much making each uncached module cacheable saves." )
+public class Cache implements Callable<Integer>
+{
+
+    @Mixin
+    private BuildInputs inputs;
+
+    @Option( names = {
+        "--history" }, split = ",", description = "Build logs of previous builds to learn how long modules take with and without cache hits" )
+    private List<File> history = new ArrayList<>();
+
+    @Option( names = { "-n",
+        "--top" }, defaultValue = "10", description = "Number of uncached modules to print (default: ${DEFAULT-VALUE})" )
+    private int top;
+
+    @Option( names = "--help", usageHelp = true, description = "Display this help and exit" )
+    private boolean help;
+
+    @Override
+    public Integer call()
+        throws Exception
+    {
+        File buildLog = inputs.getMavenBuildLog();
+        if ( buildLog == null )
+        {
+            System.err.println( "Build cache hits can only be read from a --build-log" );
+            return 2;
+        }
+
+        ModuleGraph graph = inputs.criticalPath().getModuleGraph();
+        double[] weights = graph.weights();
+
+        BuildCache cache = new BuildCache();
+        Map<Module, Boolean> restored = BuildCache.parse( buildLog.toPath() );
+        cache.record( inputs.readTimings( buildLog ), restored );
+        for ( File h : history )
+        {
+            cache.record( inputs.readTimings( h ), BuildCache.parse( h.toPath() ) );
+        }
+
+        double[] worst = new double[graph.size()];
+        int unknown = 0;
+        for ( int v = 0; v < graph.size(); v++ )
+        {
+            Module m = graph.getModule( v );
+            worst[v] = weights[v];
+            if ( !restored.getOrDefault( m, false ) )
+            {
+                continue;
+            }
+            worst[v] = cache.getMissDuration( m, Double.NaN );
+            if ( Double.isNaN( worst[v] ) )
+            {
+                worst[v] = weights[v];
+                unknown++;
+            }
+        }
+
+        System.out.println( String.format( "Build takes %.2fmin with %d module(s) restored from cache - critical path %s",
+            graph.makespan( weights ) / 60, restored.values().stream().filter( r -> r ).count(),
+            path( graph, weights ) ) );
+        System.out.println( String.format( "Build takes %.2fmin without cache hits - critical path %s",
+            graph.makespan( worst ) / 60, path( graph, worst ) ) );
+        if ( unknown > 0 )
+        {
+            System.out.println( String.format(
+                "  %d restored module(s) never missed the cache in given builds so their restored duration is used",
+                unknown ) );
+        }
+
+        // modules that were never restored are assumed to take as long to
+        // restore as restored modules do on average
+        double meanHit = cache.getMeanHitDuration( 0 );
+        double[] hit = new double[graph.size()];
+        int neverRestored = 0;
+        for ( int v = 0; v < graph.size(); v++ )
+        {
+            Module m = graph.getModule( v );
+            if ( restored.getOrDefault( m, false ) )
+            {
+                hit[v] = weights[v];
+                continue;
+            }
+            hit[v] = cache.getHitDuration( m, Double.NaN );
+            if ( Double.isNaN( hit[v] ) )
+            {
+                hit[v] = meanHit;
+                neverRestored++;
+            }
+        }
+
+        List<Gain> gains = new Sensitivity( graph, weights )
+            .rank( v -> hit[v] )
+            .stream()
+            .filter( g -> !restored.getOrDefault( g.getModule(), false ) )
+            .limit( top )
+            .collect( Collectors.toList() );
+        System.out.println( "Restoring an uncached module from cache saves" );
+        if ( neverRestored > 0 )
+        {
+            System.out.println( String.format(
+                "  %d uncached module(s) were never restored in given builds so the mean restored duration of %.2fs is used",
+                neverRestored, meanHit ) );
+        }
+        for ( Gain g : gains )
+        {
+            System.out.println( String.format( "  %.2fmin of %.2fmin %s", g.getGain() / 60, g.getSaved() / 60,
+                g.getModule().getCoordinates() ) );
+        }
+        return 0;
+    }
+
+    private static String path( ModuleGraph graph, double[] weights )
+    {
+        List<String> path = new ArrayList<>();
+        for ( int v : graph.criticalPath( weights ) )
+        {
+            path.add( graph.getModule( v ).getCoordinates() );
+        }
+        return String.join( " > ", path );
+    }
+
+    public static void main( String[] args )
+    {
+        int exitCode = new CommandLine( new Cache() ).execute( args );
+        System.exit( exitCode );
+    }
+}
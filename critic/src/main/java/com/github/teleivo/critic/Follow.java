@@ -0,0 +1,161 @@
+package com.github.teleivo.critic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.github.teleivo.critic.maven.BuildProgress;
+import com.github.teleivo.critic.maven.ModuleGraph;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Command( name = "critic-follow", description = "Follows the log of a running Maven build and projects when it finishes using the timings of a previous build." )
+public class Follow implements Callable<Integer>
+{
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern( "HH:mm:ss" )
+        .withZone( ZoneId.systemDefault() );
+
+    @Mixin
+    private BuildInputs inputs;
+
+    @Option( names = { "-f",
+        "--follow" }, required = true, description = "Log of the running Maven build. Waits for the file if it does not exist yet." )
+    private File log;
+
+    @Option( names = {
+        "--interval" }, defaultValue = "1000", description = "Milliseconds to wait before reading lines appended to the log (default: ${DEFAULT-VALUE})" )
+    private long interval;
+
+    @Option( names = "--help", usageHelp = true, description = "Display this help and exit" )
+    private boolean help;
+
+    private byte[] line = new byte[256];
+
+    private int lineLength;
+
+    private long position;
+
+    // lines already in the log when following starts were written at the
+    // latest when the log was last modified
+    private long backlog;
+
+    private Instant backlogModified;
+
+    @Override
+    public Integer call()
+        throws Exception
+    {
+        ModuleGraph graph = inputs.criticalPath().getModuleGraph();
+        double[] estimates = graph.weights();
+        Map<String, String> projectNames = inputs.getProjectNames();
+
+        while ( !log.exists() )
+        {
+            Thread.sleep( interval );
+        }
+
+        BuildProgress progress = new BuildProgress( graph, estimates, projectNames );
+        ByteBuffer buffer = ByteBuffer.allocate( 64 * 1024 );
+        try ( FileChannel channel = FileChannel.open( log.toPath(), StandardOpenOption.READ ) )
+        {
+            backlog = channel.size();
+            backlogModified = Files.getLastModifiedTime( log.toPath() ).toInstant();
+            while ( !progress.isFinished() )
+            {
+                if ( channel.size() < channel.position() )
+                {
+                    System.out.println( String.format( "%s was truncated - following it from the start", log ) );
+                    channel.position( 0 );
+                    lineLength = 0;
+                    position = 0;
+                    backlog = 0;
+                    progress = new BuildProgress( graph, estimates, projectNames );
+                }
+
+                boolean changed = false;
+                while ( !progress.isFinished() && channel.read( buffer ) > 0 )
+                {
+                    buffer.flip();
+                    changed |= readLines( buffer, progress );
+                    buffer.clear();
+                }
+
+                if ( changed )
+                {
+                    print( progress );
+                }
+                if ( !progress.isFinished() )
+                {
+                    Thread.sleep( interval );
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Passes all complete lines in given buffer to the progress. The start of
+     * a line that is still being written is kept until the rest of it is
+     * read.
+     */
+    private boolean readLines( ByteBuffer buffer, BuildProgress progress )
+    {
+        boolean changed = false;
+        while ( buffer.hasRemaining() && !progress.isFinished() )
+        {
+            byte b = buffer.get();
+            position++;
+            if ( b != '\n' )
+            {
+                if ( lineLength == line.length )
+                {
+                    line = Arrays.copyOf( line, line.length * 2 );
+                }
+                line[lineLength++] = b;
+                continue;
+            }
+            int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+            Instant time = position <= backlog ? backlogModified : Instant.now();
+            changed |= progress.accept( new String( line, 0, length, StandardCharsets.UTF_8 ), time );
+            lineLength = 0;
+        }
+        return changed;
+    }
+
+    private static void print( BuildProgress progress )
+    {
+        Instant now = Instant.now();
+        BuildProgress.Projection p = progress.project( now );
+        if ( progress.isFinished() )
+        {
+            System.out.println( String.format( "%s %d/%d modules built - build finished", TIME.format( now ),
+                p.getBuilt(), p.getTotal() ) );
+            return;
+        }
+        System.out.println( String.format( "%s %d/%d modules built - finishes at %s in %.2fmin - bounded by %s",
+            TIME.format( now ), p.getBuilt(), p.getTotal(),
+            TIME.format( now.plusMillis( (long) (p.getRemaining() * 1000) ) ), p.getRemaining() / 60,
+            p.getBound() != null ? p.getBound().getCoordinates()
+                : String.format( "%d thread(s)", progress.getThreads() ) ) );
+    }
+
+    public static void main( String[] args )
+    {
+        int exitCode = new CommandLine( new Follow() ).execute( args );
+        System.exit( exitCode );
+    }
+}
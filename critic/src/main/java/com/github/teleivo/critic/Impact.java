@@ -0,0 +1,127 @@
+package com.github.teleivo.critic;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import com.github.teleivo.critic.maven.ImpactAnalysis;
+import com.github.teleivo.critic.maven.Module;
+import com.github.teleivo.critic.maven.ModuleGraph;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Command( name = "critic-impact", description = "Finds the modules that need to be rebuilt after given modules changed and predicts how long that takes." )
+public class Impact implements Callable<Integer>
+{
+
+    @Mixin
+    private BuildInputs inputs;
+
+    @Option( names = { "-m",
+        "--changed" }, split = ",", description = "Changed modules given as groupId:artifactId or artifactId" )
+    private List<String> changed = new ArrayList<>();
+
+    @Option( names = { "-f",
+        "--changed-files" }, description = "File listing changed file paths relative to the project root one per line like the output of 'git diff --name-only'.\nUse '-' to read from stdin." )
+    private File changedFiles;
+
+    @Option( names = "--help", usageHelp = true, description = "Display this help and exit" )
+    private boolean help;
+
+    @Override
+    public Integer call()
+        throws Exception
+    {
+        if ( changed.isEmpty() && changedFiles == null )
+        {
+            System.err.println( "Either --changed or --changed-files is required" );
+            return 2;
+        }
+
+        ModuleGraph graph = inputs.criticalPath().getModuleGraph();
+        BitSet modules = new BitSet( graph.size() );
+        for ( String c : changed )
+        {
+            if ( graph.isAmbiguous( c ) )
+            {
+                System.err.println(
+                    String.format( "Module '%s' is ambiguous - use groupId:artifactId instead", c ) );
+                return 2;
+            }
+            int v = graph.indexOf( c );
+            if ( v == -1 )
+            {
+                System.err.println( String.format( "Module '%s' is not part of the dependency graph", c ) );
+                return 2;
+            }
+            modules.set( v );
+        }
+        if ( changedFiles != null )
+        {
+            List<Path> unmapped = new ArrayList<>();
+            modules.or( ImpactAnalysis.changedModules( graph, readPaths( changedFiles ), unmapped ) );
+            for ( Path p : unmapped )
+            {
+                System.err.println( String.format( "Ignoring '%s' as it does not belong to any module", p ) );
+            }
+        }
+
+        ImpactAnalysis.Impact impact = new ImpactAnalysis( graph, graph.weights() ).analyze( modules );
+        if ( impact.getChanged().isEmpty() )
+        {
+            System.out.println( "No module changed" );
+            return 0;
+        }
+
+        System.out.println( String.format( "%d changed module(s) affect %d module(s)", impact.getChanged().size(),
+            impact.getAffected().size() ) );
+        System.out.println( String.format( "  mvn -pl %s -amd", join( impact.getChanged() ) ) );
+        System.out.println( String.format( "  affected %s", join( impact.getAffected() ) ) );
+        System.out.println( String.format( "  critical path %s takes %.2fmin",
+            impact.getCriticalPath().stream().map( Module::getCoordinates ).collect( Collectors.joining( " > " ) ),
+            impact.getDuration() / 60 ) );
+        System.out.println( String.format( "  mvn -pl %s -am -amd additionally builds %d module(s) and takes %.2fmin",
+            join( impact.getChanged() ), impact.getRequired().size(), impact.getDurationIncludingRequired() / 60 ) );
+        return 0;
+    }
+
+    private static List<Path> readPaths( File file )
+        throws IOException
+    {
+        try ( BufferedReader reader = file.getPath().equals( "-" )
+            ? new BufferedReader( new InputStreamReader( System.in ) )
+            : Files.newBufferedReader( file.toPath() ) )
+        {
+            List<Path> paths = reader.lines()
+                .map( String::trim )
+                .filter( l -> !l.isEmpty() )
+                .map( Paths::get )
+                .collect( Collectors.toList() );
+            return Collections.unmodifiableList( paths );
+        }
+    }
+
+    private static String join( List<Module> modules )
+    {
+        return modules.stream().map( Module::getCoordinates ).collect( Collectors.joining( "," ) );
+    }
+
+    public static void main( String[] args )
+    {
+        int exitCode = new CommandLine( new Impact() ).execute( args );
+        System.exit( exitCode );
+    }
+}
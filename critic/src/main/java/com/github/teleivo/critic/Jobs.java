@@ -0,0 +1,83 @@
+package com.github.teleivo.critic;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import com.github.teleivo.critic.maven.CriticalPath;
+import com.github.teleivo.critic.maven.JobPlanner;
+import com.github.teleivo.critic.maven.JobPlanner.Job;
+import com.github.teleivo.critic.maven.JobPlanner.Plan;
+import com.github.teleivo.critic.maven.Module;
+import com.github.teleivo.critic.maven.ModuleGraph;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Command( name = "critic-jobs", description = "Recommends which modules tests to run in separate CI jobs to minimise the pipeline duration." )
+public class Jobs implements Callable<Integer>
+{
+
+    @Mixin
+    private BuildInputs inputs;
+
+    @Option( names = { "-c",
+        "--compile-log" }, required = true, description = "Maven build log or build events of a build that skipped tests using '-DskipTests'.\nThe test duration of a module is its duration in the build log minus its duration in the compile log." )
+    private File compileLog;
+
+    @Option( names = { "-j",
+        "--jobs" }, defaultValue = "1", description = "Maximum number of jobs to run tests in next to the reactor build (default: ${DEFAULT-VALUE})" )
+    private int jobs;
+
+    @Option( names = {
+        "--job-overhead" }, defaultValue = "0", description = "Seconds it takes to set up a job like checking out the repository (default: ${DEFAULT-VALUE})" )
+    private double jobOverhead;
+
+    @Option( names = "--help", usageHelp = true, description = "Display this help and exit" )
+    private boolean help;
+
+    @Override
+    public Integer call()
+        throws Exception
+    {
+        CriticalPath path = inputs.criticalPath();
+        ModuleGraph graph = path.getModuleGraph();
+        Map<Module, Module> compileModules = inputs.readTimings( compileLog );
+
+        double[] full = graph.weights();
+        double[] compile = new double[graph.size()];
+        double[] test = new double[graph.size()];
+        for ( int v = 0; v < graph.size(); v++ )
+        {
+            Module m = compileModules.get( graph.getModule( v ) );
+            // Note: a module missing in the compile log is treated as not
+            // having any tests
+            compile[v] = m == null ? full[v] : Math.min( full[v], m.getBuildDuration().toNanos() / 1e9 );
+            test[v] = full[v] - compile[v];
+        }
+
+        JobPlanner planner = new JobPlanner( graph, compile, test, jobOverhead );
+        for ( Plan plan : planner.plan( jobs ) )
+        {
+            System.out.println( String.format( "%d additional job(s) - pipeline takes %.2fmin",
+                plan.getAllowedJobs(), plan.getDuration() / 60 ) );
+            System.out.println( String.format( "  reactor takes %.2fmin", plan.getReactorDuration() / 60 ) );
+            int i = 1;
+            for ( Job job : plan.getJobs() )
+            {
+                System.out.println( String.format( "  job %d takes %.2fmin testing %s", i++, job.getDuration() / 60,
+                    job.getModules().stream().map( Module::getCoordinates ).collect( Collectors.joining( "," ) ) ) );
+            }
+        }
+        return 0;
+    }
+
+    public static void main( String[] args )
+    {
+        int exitCode = new CommandLine( new Jobs() ).execute( args );
+        System.exit( exitCode );
+    }
+}
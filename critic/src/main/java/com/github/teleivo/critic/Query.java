@@ -0,0 +1,138 @@
+package com.github.teleivo.critic;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import com.github.teleivo.critic.maven.Module;
+import com.github.teleivo.critic.maven.ModuleGraph;
+import com.github.teleivo.critic.maven.ReachabilityIndex;
+import com.github.teleivo.critic.maven.ReachabilityIndex.Chain;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Command( name = "critic-query", description = "Answers whether modules depend on each other and how long the longest chain between them takes.\nReads queries of the form 'A B' one per line from stdin and prints 'A B true|false duration chain' for each." )
+public class Query implements Callable<Integer>
+{
+
+    @Mixin
+    private BuildInputs inputs;
+
+    @Option( names = { "-i",
+        "--index" }, description = "File the index is stored in. Defaults to the dependency graph file with a '.critic-index' suffix." )
+    private File index;
+
+    @Option( names = "--rebuild", description = "Rebuild the index even if it is up to date" )
+    private boolean rebuild;
+
+    @Option( names = "--help", usageHelp = true, description = "Display this help and exit" )
+    private boolean help;
+
+    @Override
+    public Integer call()
+        throws Exception
+    {
+        Path indexFile = index != null ? index.toPath()
+            : inputs.getDependencyGraph().toPath().resolveSibling(
+                inputs.getDependencyGraph().getName() + ".critic-index" );
+        ReachabilityIndex idx = loadOrBuild( indexFile );
+        ModuleGraph graph = idx.getGraph();
+
+        try ( BufferedReader in = new BufferedReader( new InputStreamReader( System.in ) ) )
+        {
+            String line;
+            while ( (line = in.readLine()) != null )
+            {
+                String[] query = line.trim().split( "\\s+" );
+                if ( query.length == 1 && query[0].isEmpty() )
+                {
+                    continue;
+                }
+                if ( query.length != 2 )
+                {
+                    System.err.println( String.format( "Expected 2 modules but got '%s'", line ) );
+                    continue;
+                }
+                if ( graph.isAmbiguous( query[0] ) || graph.isAmbiguous( query[1] ) )
+                {
+                    System.err.println( String.format( "Module '%s' is ambiguous - use groupId:artifactId instead",
+                        graph.isAmbiguous( query[0] ) ? query[0] : query[1] ) );
+                    continue;
+                }
+                int a = graph.indexOf( query[0] );
+                int b = graph.indexOf( query[1] );
+                if ( a == -1 || b == -1 )
+                {
+                    System.err.println( String.format( "Module '%s' is not part of the dependency graph",
+                        a == -1 ? query[0] : query[1] ) );
+                    continue;
+                }
+
+                // a module does not depend on itself
+                if ( !idx.dependsOn( a, b ) )
+                {
+                    System.out.println( String.format( "%s %s false", query[0], query[1] ) );
+                    continue;
+                }
+                Chain chain = idx.longestChain( a, b );
+                System.out.println( String.format( "%s %s true %.2fmin %s", query[0], query[1],
+                    chain.getDuration() / 60,
+                    chain.getModules().stream().map( Module::getCoordinates ).collect( Collectors.joining( ">" ) ) ) );
+            }
+        }
+        return 0;
+    }
+
+    private ReachabilityIndex loadOrBuild( Path indexFile )
+        throws IOException
+    {
+        long fingerprint = fingerprint( inputs.getFiles() );
+        if ( !rebuild )
+        {
+            // an index that cannot be read is rebuilt like an outdated one
+            ReachabilityIndex idx = ReachabilityIndex.load( indexFile, fingerprint );
+            if ( idx != null )
+            {
+                return idx;
+            }
+        }
+
+        ModuleGraph graph = inputs.criticalPath().getModuleGraph();
+        ReachabilityIndex idx = ReachabilityIndex.build( graph, graph.weights(), fingerprint );
+        try
+        {
+            idx.write( indexFile );
+        }
+        catch ( IOException e )
+        {
+            System.err.println(
+                String.format( "Cannot store index in '%s' - answering queries without it: %s", indexFile, e ) );
+        }
+        return idx;
+    }
+
+    private static long fingerprint( List<File> files )
+    {
+        long result = 1;
+        for ( File f : files )
+        {
+            result = 31 * result + Objects.hash( f.getAbsolutePath(), f.length(), f.lastModified() );
+        }
+        return result;
+    }
+
+    public static void main( String[] args )
+    {
+        int exitCode = new CommandLine( new Query() ).execute( args );
+        System.exit( exitCode );
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.teleivo.critic;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import com.github.teleivo.critic.maven.ModuleGraph;
+import com.github.teleivo.critic.maven.Sensitivity;
+import com.github.teleivo.critic.maven.Sensitivity.Gain;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Command( name = "critic-speedup", description = "Ranks modules by how much speeding up each of them shortens the entire build." )
+public class Speedup implements Callable<Integer>
+{
+
+    @Mixin
+    private BuildInputs inputs;
+
+    @Option( names = { "-s",
+        "--speedup" }, defaultValue = "100", description = "Percent by which to speed up each module.\n100 means the module takes no time like when moving its tests out of the build (default: ${DEFAULT-VALUE})" )
+    private double speedup;
+
+    @Option( names = { "-n",
+        "--top" }, defaultValue = "10", description = "Number of modules to print (default: ${DEFAULT-VALUE})" )
+    private int top;
+
+    @Option( names = "--help", usageHelp = true, description = "Display this help and exit" )
+    private boolean help;
+
+    @Override
+    public Integer call()
+        throws Exception
+    {
+        if ( speedup < 0 || speedup > 100 )
+        {
+            System.err.println( "--speedup must be between 0 and 100" );
+            return 2;
+        }
+
+        ModuleGraph graph = inputs.criticalPath().getModuleGraph();
+        double[] weights = graph.weights();
+        List<Gain> gains = new Sensitivity( graph, weights ).rank( speedup );
+
+        System.out.println( String.format( "Build takes %.2fmin - speeding up a module by %.0f%% saves",
+            graph.makespan( weights ) / 60, speedup ) );
+        for ( Gain g : gains.subList( 0, Math.min( top, gains.size() ) ) )
+        {
+            System.out.println( String.format( "  %.2fmin of %.2fmin (%.2f per second) %s", g.getGain() / 60,
+                g.getSaved() / 60, g.getGainPerSecond(), g.getModule().getCoordinates() ) );
+        }
+        return 0;
+    }
+
+    public static void main( String[] args )
+    {
+        int exitCode = new CommandLine( new Speedup() ).execute( args );
+        System.exit( exitCode );
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.teleivo.critic.maven;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks how long modules take to build when they are restored from the
+ * <a href="https://maven.apache.org/extensions/maven-build-cache-extension/">
+ * Maven build cache</a> and when they are not. A module restored from the
+ * cache only shows up with a short duration in the reactor summary which hides
+ * its real cost.
+ */
+public class BuildCache
+{
+    // Here are the messages logged by the maven-build-cache-extension when
+    // it restores a project or does not find it in the cache
+    private static final Pattern HIT = Pattern.compile( "Found cached build, restoring (\\S+) from cache" );
+
+    private static final Pattern MISS = Pattern
+        .compile( "(?:Local|Remote) build was not found by checksum \\S+ for (\\S+)" );
+
+    private final Map<Module, Durations> durations = new HashMap<>();
+
+    /**
+     * Parses whether modules were restored from the build cache. Returns true
+     * for modules that were restored and false for modules that were not
+     * found in the cache. Modules without any cache messages are left out.
+     */
+    public static Map<Module, Boolean> parse( Path buildLog )
+        throws IOException
+    {
+        final Map<Module, Boolean> restored = new HashMap<>();
+        try ( BufferedReader reader = Files.newBufferedReader( buildLog ) )
+        {
+            String l;
+            while ( (l = reader.readLine()) != null )
+            {
+                String[] entry = parseCacheEntry( l );
+                if ( entry == null )
+                {
+                    continue;
+                }
+                restored.put( new Module( entry[0] ), Boolean.valueOf( entry[1] ) );
+            }
+        }
+        return restored;
+    }
+
+    static String[] parseCacheEntry( final String in )
+    {
+        Matcher m = HIT.matcher( in );
+        if ( m.find() )
+        {
+            return new String[] { m.group( 1 ), "true" };
+        }
+        m = MISS.matcher( in );
+        if ( m.find() )
+        {
+            return new String[] { m.group( 1 ), "false" };
+        }
+        return null;
+    }
+
+    /**
+     * Records the build durations of one build. Modules that were not
+     * restored from the cache count as misses.
+     *
+     * @param reactorModules modules with their build durations
+     * @param restored whether modules were restored from the cache
+     */
+    public void record( Map<Module, Module> reactorModules, Map<Module, Boolean> restored )
+    {
+        for ( Module m : reactorModules.values() )
+        {
+            Durations d = durations.computeIfAbsent( m, k -> new Durations() );
+            double seconds = ModuleGraph.seconds( m.getBuildDuration() );
+            if ( restored.getOrDefault( m, false ) )
+            {
+                d.hits++;
+                d.hitSeconds += seconds;
+            }
+            else
+            {
+                d.misses++;
+                d.missSeconds += seconds;
+            }
+        }
+    }
+
+    /**
+     * Returns the mean seconds it took to build given module when it was
+     * restored from the cache or given fallback if it never was.
+     */
+    public double getHitDuration( Module module, double fallback )
+    {
+        Durations d = durations.get( module );
+        return d == null || d.hits == 0 ? fallback : d.hitSeconds / d.hits;
+    }
+
+    /**
+     * Returns the mean seconds it took to build given module when it was not
+     * restored from the cache or given fallback if it always was.
+     */
+    public double getMissDuration( Module module, double fallback )
+    {
+        Durations d = durations.get( module );
+        return d == null || d.misses == 0 ? fallback : d.missSeconds / d.misses;
+    }
+
+    /**
+     * Returns the mean seconds it took to build any module when it was
+     * restored from the cache or given fallback if none ever was.
+     */
+    public double getMeanHitDuration( double fallback )
+    {
+        int hits = 0;
+        double seconds = 0;
+        for ( Durations d : durations.values() )
+        {
+            hits += d.hits;
+            seconds += d.hitSeconds;
+        }
+        return hits == 0 ? fallback : seconds / hits;
+    }
+
+    private static class Durations
+    {
+        int hits;
+
+        double hitSeconds;
+
+        int misses;
+
+        double missSeconds;
+    }
+}
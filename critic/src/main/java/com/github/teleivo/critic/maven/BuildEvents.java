@@ -0,0 +1,102 @@
+package com.github.teleivo.critic.maven;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the project timings recorded by the critic-maven-extension. Unlike
+ * the {@link ReactorSummary} it does not depend on the format of the Maven
+ * log and has nanosecond precision.
+ */
+public class BuildEvents
+{
+    private static final Pattern FIELD = Pattern.compile( "\"(\\w+)\":(?:\"((?:[^\"\\\\]|\\\\.)*)\"|(-?\\d+))" );
+
+    public static Map<Module, Module> parse( Path events )
+        throws IOException
+    {
+        final Map<String, Long> started = new HashMap<>();
+        final Map<Module, Module> modules = new HashMap<>();
+        try ( BufferedReader reader = Files.newBufferedReader( events ) )
+        {
+            String l;
+            while ( (l = reader.readLine()) != null )
+            {
+                Map<String, String> event = parseEvent( l );
+                String type = event.get( "type" );
+                String project = event.get( "project" );
+                if ( type == null || project == null || !type.startsWith( "project-" ) )
+                {
+                    continue;
+                }
+                long nanos = Long.parseLong( event.get( "nanos" ) );
+                if ( type.equals( "project-started" ) )
+                {
+                    started.put( project, nanos );
+                    continue;
+                }
+                Long start = started.get( project );
+                if ( start == null )
+                {
+                    throw new IllegalArgumentException(
+                        String.format( "project '%s' ended without being started", project ) );
+                }
+                Module m = new Module( project, Duration.ofNanos( nanos - start ) );
+                modules.put( m, m );
+            }
+        }
+        return modules;
+    }
+
+    /**
+     * Parses a single JSON lines record into its fields. Only flat objects
+     * with string and integer values as written by the extension are
+     * supported.
+     */
+    static Map<String, String> parseEvent( String in )
+    {
+        Map<String, String> fields = new HashMap<>();
+        Matcher m = FIELD.matcher( in );
+        while ( m.find() )
+        {
+            fields.put( m.group( 1 ), m.group( 2 ) != null ? unescape( m.group( 2 ) ) : m.group( 3 ) );
+        }
+        return fields;
+    }
+
+    private static String unescape( String s )
+    {
+        if ( s.indexOf( '\\' ) == -1 )
+        {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder( s.length() );
+        for ( int i = 0; i < s.length(); i++ )
+        {
+            char c = s.charAt( i );
+            if ( c != '\\' || i + 1 == s.length() )
+            {
+                sb.append( c );
+                continue;
+            }
+            char next = s.charAt( ++i );
+            if ( next == 'u' && i + 4 < s.length() )
+            {
+                sb.append( (char) Integer.parseInt( s.substring( i + 1, i + 5 ), 16 ) );
+                i += 4;
+            }
+            else
+            {
+                sb.append( next );
+            }
+        }
+        return sb.toString();
+    }
+}
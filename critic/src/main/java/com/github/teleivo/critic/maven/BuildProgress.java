@@ -0,0 +1,388 @@
+package com.github.teleivo.critic.maven;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks the progress of a running Maven build from its log lines and
+ * projects when it finishes.
+ * <p>
+ * Maven only logs when it starts building a project. A project is therefore
+ * considered built once a project depending on it starts, once the next
+ * project starts in a build that is not using multiple threads or once the
+ * build ends. Projects that are not built yet take their estimated duration
+ * and running projects the remainder of it. The remaining build then takes
+ * as long as the longest path through these durations or as long as the
+ * threads need to build all of them, whichever is longer.
+ * <p>
+ * Given the names of the projects, modules missing from the reactor build
+ * order Maven logs at the start are not part of the build, like modules
+ * excluded using {@code -pl} or skipped using {@code -rf}. Without the names
+ * such modules are only known to be skipped once a module depending on them
+ * starts.
+ */
+public class BuildProgress
+{
+    // Here are the lines logged by Maven when it starts building a project
+    // like
+    // [INFO] ---------------------< org.hisp.dhis:dhis-support >---------------------
+    private static final Pattern PROJECT = Pattern.compile( "-< (\\S+:\\S+) >-" );
+
+    private static final Pattern THREADS = Pattern.compile( "MultiThreadedBuilder .* thread count of (\\d+)" );
+
+    private static final Pattern BUILD_END = Pattern.compile( "\\] BUILD (SUCCESS|FAILURE)" );
+
+    // Here are the lines listing the projects in the reactor before the build
+    // starts like
+    // [INFO] Reactor Build Order:
+    // [INFO]
+    // [INFO] DHIS 2                                                             [pom]
+    private static final Pattern BUILD_ORDER = Pattern.compile( "\\] Reactor Build Order:" );
+
+    private static final Pattern BUILD_ORDER_ENTRY = Pattern.compile( "\\] (.*?)\\s*(?:\\[[\\w-]+\\])?\\s*$" );
+
+    // Timestamp prefix added by CI systems like GitHub Actions or by Maven
+    // using -Dorg.slf4j.simpleLogger.showDateTime=true with an ISO date format
+    // 2021-12-06T08:44:02.8426199Z [INFO] ...
+    // 2021-12-06T09:44:02.842+01:00 [INFO] ...
+    private static final Pattern TIMESTAMP = Pattern
+        .compile( "^(\\d{4}-\\d{2}-\\d{2}T[\\d:.]+(?:Z|[+-]\\d{2}:\\d{2})) " );
+
+    private static final Pattern ANSI = Pattern.compile( "\u001B\\[[;\\d]*m" );
+
+    private static final int PENDING = 0;
+
+    private static final int RUNNING = 1;
+
+    private static final int BUILT = 2;
+
+    private static final int SKIPPED = 3;
+
+    private final ModuleGraph graph;
+
+    private final double[] estimates;
+
+    private final int[] state;
+
+    private final Instant[] started;
+
+    private final Map<String, Integer> projects = new HashMap<>();
+
+    private BitSet buildOrder;
+
+    private int threads = 1;
+
+    private int built;
+
+    private int skipped;
+
+    private boolean finished;
+
+    /**
+     * @param graph the dependency graph
+     * @param estimates estimated build duration of each module in seconds
+     *        like the durations of a previous build
+     */
+    public BuildProgress( ModuleGraph graph, double[] estimates )
+    {
+        this( graph, estimates, Collections.emptyMap() );
+    }
+
+    /**
+     * @param graph the dependency graph
+     * @param estimates estimated build duration of each module in seconds
+     *        like the durations of a previous build
+     * @param projectNames Maven project names mapped to their coordinates
+     *        used to read the reactor build order
+     */
+    public BuildProgress( ModuleGraph graph, double[] estimates, Map<String, String> projectNames )
+    {
+        this.graph = graph;
+        this.estimates = estimates;
+        this.state = new int[graph.size()];
+        this.started = new Instant[graph.size()];
+        for ( Map.Entry<String, String> p : projectNames.entrySet() )
+        {
+            int v = graph.indexOf( p.getValue() );
+            if ( v != -1 )
+            {
+                projects.put( p.getKey(), v );
+            }
+        }
+    }
+
+    /**
+     * Records given log line read at given time. The time of lines prefixed
+     * with a timestamp is taken from the line instead. Returns true if a
+     * module started or was built.
+     */
+    public boolean accept( String line, Instant time )
+    {
+        if ( finished )
+        {
+            return false;
+        }
+        if ( line.indexOf( '\u001B' ) != -1 )
+        {
+            line = ANSI.matcher( line ).replaceAll( "" );
+        }
+        Matcher m = TIMESTAMP.matcher( line );
+        if ( m.find() )
+        {
+            time = parseTimestamp( m.group( 1 ), time );
+        }
+
+        m = PROJECT.matcher( line );
+        if ( m.find() )
+        {
+            boolean changed = endBuildOrder();
+            int v = graph.indexOf( m.group( 1 ) );
+            if ( v == -1 || state[v] == RUNNING || state[v] == BUILT )
+            {
+                return changed;
+            }
+            if ( state[v] == SKIPPED )
+            {
+                skipped--;
+            }
+            if ( threads == 1 )
+            {
+                buildAll( RUNNING );
+            }
+            buildDependencies( v );
+            state[v] = RUNNING;
+            started[v] = time;
+            return true;
+        }
+
+        if ( buildOrder != null )
+        {
+            return readBuildOrder( line );
+        }
+        if ( !projects.isEmpty() && BUILD_ORDER.matcher( line ).find() )
+        {
+            buildOrder = new BitSet( state.length );
+            return false;
+        }
+
+        m = THREADS.matcher( line );
+        if ( m.find() )
+        {
+            threads = Math.max( 1, Integer.parseInt( m.group( 1 ) ) );
+            return false;
+        }
+
+        if ( BUILD_END.matcher( line ).find() )
+        {
+            buildAll( RUNNING );
+            finished = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records the modules listed in the reactor build order. The list ends
+     * with an empty line. Returns true if the list ended.
+     */
+    private boolean readBuildOrder( String line )
+    {
+        Matcher m = BUILD_ORDER_ENTRY.matcher( line );
+        if ( !m.find() || m.group( 1 ).isEmpty() )
+        {
+            // the list starts with an empty line as well
+            return !buildOrder.isEmpty() && endBuildOrder();
+        }
+        Integer v = projects.get( m.group( 1 ) );
+        if ( v != null )
+        {
+            buildOrder.set( v );
+        }
+        return false;
+    }
+
+    /**
+     * Marks the modules that are not in the reactor build order as skipped.
+     * Returns true if any module was skipped.
+     */
+    private boolean endBuildOrder()
+    {
+        if ( buildOrder == null )
+        {
+            return false;
+        }
+        int before = skipped;
+        if ( !buildOrder.isEmpty() )
+        {
+            for ( int v = 0; v < state.length; v++ )
+            {
+                if ( state[v] == PENDING && !buildOrder.get( v ) )
+                {
+                    state[v] = SKIPPED;
+                    skipped++;
+                }
+            }
+        }
+        buildOrder = null;
+        return skipped != before;
+    }
+
+    /**
+     * Marks the dependencies of given module as built as Maven only starts a
+     * module once they are. Dependencies that never started are not part of
+     * the build. Modules that are built already are not visited again.
+     */
+    private void buildDependencies( int v )
+    {
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push( v );
+        while ( !stack.isEmpty() )
+        {
+            for ( int d : graph.getDependencies( stack.pop() ) )
+            {
+                if ( state[d] == PENDING || state[d] == RUNNING )
+                {
+                    build( d );
+                    stack.push( d );
+                }
+            }
+        }
+    }
+
+    private void buildAll( int from )
+    {
+        for ( int v = 0; v < state.length; v++ )
+        {
+            if ( state[v] == from )
+            {
+                build( v );
+            }
+        }
+    }
+
+    private void build( int v )
+    {
+        state[v] = BUILT;
+        started[v] = null;
+        built++;
+    }
+
+    /**
+     * Projects how long the build takes from given time on.
+     */
+    public Projection project( Instant now )
+    {
+        double[] remaining = new double[state.length];
+        double work = 0;
+        for ( int v = 0; v < state.length; v++ )
+        {
+            if ( finished || state[v] == BUILT || state[v] == SKIPPED )
+            {
+                continue;
+            }
+            remaining[v] = estimates[v];
+            if ( state[v] == RUNNING )
+            {
+                double elapsed = ModuleGraph.seconds( Duration.between( started[v], now ) );
+                remaining[v] = Math.max( 0, estimates[v] - elapsed );
+            }
+            work += remaining[v];
+        }
+
+        double longest = graph.makespan( remaining );
+        Module bound = null;
+        if ( longest > 0 && longest >= work / threads )
+        {
+            for ( int v : graph.criticalPath( remaining ) )
+            {
+                if ( remaining[v] > 0 )
+                {
+                    bound = graph.getModule( v );
+                    break;
+                }
+            }
+        }
+        return new Projection( Math.max( longest, work / threads ), bound, built, state.length - skipped );
+    }
+
+    public boolean isFinished()
+    {
+        return finished;
+    }
+
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    static Instant parseTimestamp( String timestamp, Instant fallback )
+    {
+        try
+        {
+            return OffsetDateTime.parse( timestamp ).toInstant();
+        }
+        catch ( DateTimeParseException e )
+        {
+            return fallback;
+        }
+    }
+
+    public static class Projection
+    {
+        private final double remaining;
+
+        private final Module bound;
+
+        private final int built;
+
+        private final int total;
+
+        Projection( double remaining, Module bound, int built, int total )
+        {
+            this.remaining = remaining;
+            this.bound = bound;
+            this.built = built;
+            this.total = total;
+        }
+
+        /**
+         * Returns the seconds the build is projected to take from now on.
+         */
+        public double getRemaining()
+        {
+            return remaining;
+        }
+
+        /**
+         * Returns the first unfinished module on the longest remaining path or
+         * null if the build is bound by the number of threads instead.
+         */
+        public Module getBound()
+        {
+            return bound;
+        }
+
+        public int getBuilt()
+        {
+            return built;
+        }
+
+        /**
+         * Returns the number of modules in the build.
+         */
+        public int getTotal()
+        {
+            return total;
+        }
+    }
+}
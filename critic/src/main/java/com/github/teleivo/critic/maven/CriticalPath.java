@@ -51,6 +51,8 @@ public class CriticalPath
 
     private Map<Integer, Module> modules;
 
+    private Integer root;
+
     public CriticalPath( File mavenArtifactMapping, File mavenBuildLog, File dependencyGraph )
         throws IOException
     {
@@ -59,10 +61,19 @@ public class CriticalPath
         // since it contains the build durations
         // which I do not have in my "query" module that I get from the
         // maven dependency graph
-        final Map<Module, Module> reactorModules = ReactorSummary.parse(
+        this( ReactorSummary.parse(
             mavenArtifactMapping.toPath(),
-            mavenBuildLog.toPath() );
+            mavenBuildLog.toPath() ), dependencyGraph );
+    }
 
+    /**
+     * @param reactorModules modules with their build durations like the ones
+     *        parsed by {@link ReactorSummary} or {@link BuildEvents}
+     * @param dependencyGraph DOT file of the Maven dependency graph
+     */
+    public CriticalPath( Map<Module, Module> reactorModules, File dependencyGraph )
+        throws IOException
+    {
         Graph<Integer, DefaultWeightedEdge> g = GraphTypeBuilder
             .directed()
             .allowingMultipleEdges( false )
@@ -73,30 +84,11 @@ public class CriticalPath
             .buildGraph();
 
         modules = new HashMap<>();
-        DOTImporter<Integer, DefaultWeightedEdge> importer = new DOTImporter<>();
         List<Module> missingDurations = new ArrayList<>();
-        importer.addVertexAttributeConsumer( ( p, a ) -> {
-            if ( p.getSecond() == "ID" )
-            {
-                Module m = new Module( a.getValue() );
-                if ( !reactorModules.containsKey( m ) )
-                {
-                    missingDurations.add( m );
-                    return;
-                }
-                modules.put( p.getFirst(), reactorModules.get( m ) );
-            }
-        } );
-
-        // Note: the DOTImporter ignores weights unlike JSONImporter and others
-        // :( So I have to set them explicitly
-        importer.addEdgeAttributeConsumer( ( p, attr ) -> {
-            if ( p.getSecond().equals( GRAPH_ATTRIBUTE_WEIGHT ) )
-            {
-                g.setEdgeWeight( p.getFirst(), Double.parseDouble( attr.getValue() ) );
-            }
-        } );
-        importer.importGraph( g, dependencyGraph );
+        if ( !readDependencyGraph( g, reactorModules, dependencyGraph, missingDurations ) )
+        {
+            importDependencyGraph( g, reactorModules, dependencyGraph, missingDurations );
+        }
 
         if ( !missingDurations.isEmpty() )
         {
@@ -106,7 +98,7 @@ public class CriticalPath
                     missingDurations ) );
         }
 
-        Integer root = g.addVertex();
+        root = g.addVertex();
         modules.put( root, new Module( "root:root" ) );
         for ( Integer v : g.vertexSet() )
         {
@@ -129,7 +121,7 @@ public class CriticalPath
             Module m = modules.get( v );
             for ( DefaultWeightedEdge e : g.outgoingEdgesOf( v ) )
             {
-                g.setEdgeWeight( e, m.getBuildDuration().getSeconds() );
+                g.setEdgeWeight( e, ModuleGraph.seconds( m.getBuildDuration() ) );
             }
         }
 
@@ -137,6 +129,84 @@ public class CriticalPath
         this.criticalPath = criticalPath( rg );
     }
 
+    /**
+     * Reads the dependency graph using the {@link DependencyGraphReader}.
+     * Returns false without modifying the graph if the file contains DOT
+     * syntax it does not support.
+     */
+    private boolean readDependencyGraph( Graph<Integer, DefaultWeightedEdge> g, Map<Module, Module> reactorModules,
+        File dependencyGraph, List<Module> missingDurations )
+        throws IOException
+    {
+        DependencyGraphReader.Result result;
+        try
+        {
+            result = DependencyGraphReader.read( dependencyGraph.toPath() );
+        }
+        catch ( DependencyGraphReader.UnsupportedSyntaxException e )
+        {
+            return false;
+        }
+
+        Integer[] vertices = new Integer[result.ids.length];
+        for ( int i = 0; i < vertices.length; i++ )
+        {
+            vertices[i] = g.addVertex();
+            Module m = new Module( result.ids[i] );
+            if ( !reactorModules.containsKey( m ) )
+            {
+                missingDurations.add( m );
+                continue;
+            }
+            modules.put( vertices[i], reactorModules.get( m ) );
+        }
+        for ( int i = 0; i < result.sources.length; i++ )
+        {
+            g.addEdge( vertices[result.sources[i]], vertices[result.targets[i]] );
+        }
+        return true;
+    }
+
+    /**
+     * Imports the dependency graph using the complete DOT parser of jgrapht.
+     */
+    private void importDependencyGraph( Graph<Integer, DefaultWeightedEdge> g, Map<Module, Module> reactorModules,
+        File dependencyGraph, List<Module> missingDurations )
+    {
+        DOTImporter<Integer, DefaultWeightedEdge> importer = new DOTImporter<>();
+        importer.addVertexAttributeConsumer( ( p, a ) -> {
+            if ( "ID".equals( p.getSecond() ) )
+            {
+                Module m = new Module( a.getValue() );
+                if ( !reactorModules.containsKey( m ) )
+                {
+                    missingDurations.add( m );
+                    return;
+                }
+                modules.put( p.getFirst(), reactorModules.get( m ) );
+            }
+        } );
+
+        // Note: the DOTImporter ignores weights unlike JSONImporter and others
+        // :( So I have to set them explicitly
+        importer.addEdgeAttributeConsumer( ( p, attr ) -> {
+            if ( p.getSecond().equals( GRAPH_ATTRIBUTE_WEIGHT ) )
+            {
+                g.setEdgeWeight( p.getFirst(), Double.parseDouble( attr.getValue() ) );
+            }
+        } );
+        importer.importGraph( g, dependencyGraph );
+    }
+
+    /**
+     * Returns the dependency graph in Maven build order without the root
+     * vertex.
+     */
+    public ModuleGraph getModuleGraph()
+    {
+        return ModuleGraph.of( rg, modules, root );
+    }
+
     public void exportToDOT( File output )
     {
 
@@ -0,0 +1,453 @@
+package com.github.teleivo.critic.maven;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the subset of the DOT language written by the depgraph-maven-plugin
+ * in a single pass. Node ids are interned to int ids in the order they first
+ * appear and edges are collected into int arrays. Attributes are skipped as
+ * only the structure of the graph is needed.
+ * <p>
+ * The file is read through a {@link FileChannel} and lexed byte by byte. Only
+ * quoted ids are decoded into strings.
+ * <p>
+ * Supported are a single {@code digraph} with node, edge and attribute
+ * statements, edge chains like {@code a -> b -> c} and comments. Other syntax
+ * like subgraphs, ports or undirected graphs is rejected with an
+ * {@link UnsupportedSyntaxException} so callers can fall back to a complete
+ * DOT parser.
+ */
+class DependencyGraphReader
+{
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int EOF = -1;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect( BUFFER_SIZE );
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private final List<String> names = new ArrayList<>();
+
+    private byte[] token = new byte[128];
+
+    private int tokenLength;
+
+    private int[] sources = new int[1024];
+
+    private int[] targets = new int[1024];
+
+    private int edges;
+
+    private int peeked = EOF - 1;
+
+    private DependencyGraphReader( FileChannel channel )
+    {
+        this.channel = channel;
+        this.buffer.limit( 0 );
+    }
+
+    static Result read( Path file )
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) )
+        {
+            return new DependencyGraphReader( channel ).graph();
+        }
+    }
+
+    private Result graph()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        String keyword = requireId();
+        if ( keyword.equals( "strict" ) )
+        {
+            keyword = requireId();
+        }
+        if ( !keyword.equals( "digraph" ) )
+        {
+            throw new UnsupportedSyntaxException( "expected digraph but got " + keyword );
+        }
+        int c = skipWhitespace();
+        if ( c != '{' )
+        {
+            // graph id
+            readId();
+            c = skipWhitespace();
+        }
+        expect( c, '{' );
+        next();
+
+        while ( true )
+        {
+            c = skipWhitespace();
+            if ( c == '}' )
+            {
+                next();
+                break;
+            }
+            if ( c == ';' )
+            {
+                next();
+                continue;
+            }
+            statement();
+        }
+        if ( skipWhitespace() != EOF )
+        {
+            throw new UnsupportedSyntaxException( "expected a single graph" );
+        }
+        return new Result( names.toArray( new String[0] ), Arrays.copyOf( sources, edges ),
+            Arrays.copyOf( targets, edges ) );
+    }
+
+    private void statement()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        boolean quoted = skipWhitespace() == '"';
+        String id = requireId();
+        if ( !quoted && (id.equals( "subgraph" ) || id.equals( "graph" ) && skipWhitespace() != '[') )
+        {
+            throw new UnsupportedSyntaxException( "unsupported statement " + id );
+        }
+        if ( !quoted && (id.equals( "node" ) || id.equals( "edge" ) || id.equals( "graph" )) )
+        {
+            attributes();
+            return;
+        }
+
+        int c = skipWhitespace();
+        if ( c == '=' )
+        {
+            // graph attribute like rankdir=LR
+            next();
+            skipWhitespace();
+            requireId();
+            return;
+        }
+        if ( c == ':' )
+        {
+            throw new UnsupportedSyntaxException( "ports are not supported" );
+        }
+
+        int source = intern( id );
+        while ( c == '-' )
+        {
+            next();
+            int op = next();
+            if ( op != '>' )
+            {
+                throw new UnsupportedSyntaxException( "expected -> but got -" + (char) op );
+            }
+            skipWhitespace();
+            int target = intern( requireId() );
+            addEdge( source, target );
+            source = target;
+            c = skipWhitespace();
+        }
+        attributes();
+    }
+
+    /**
+     * Skips an optional attribute list like {@code [label=<a>,shape="box"]}.
+     */
+    private void attributes()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        int c = skipWhitespace();
+        while ( c == '[' )
+        {
+            next();
+            while ( (c = skipWhitespace()) != ']' )
+            {
+                if ( c == EOF )
+                {
+                    throw new UnsupportedSyntaxException( "unterminated attribute list" );
+                }
+                if ( c == ',' || c == ';' || c == '=' )
+                {
+                    next();
+                    continue;
+                }
+                if ( c == '<' )
+                {
+                    skipHtml();
+                    continue;
+                }
+                requireId();
+            }
+            next();
+            c = skipWhitespace();
+        }
+    }
+
+    private void skipHtml()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        int depth = 0;
+        do
+        {
+            int c = next();
+            if ( c == '<' )
+            {
+                depth++;
+            }
+            else if ( c == '>' )
+            {
+                depth--;
+            }
+            else if ( c == EOF )
+            {
+                throw new UnsupportedSyntaxException( "unterminated HTML string" );
+            }
+        }
+        while ( depth > 0 );
+    }
+
+    private String requireId()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        String id = readId();
+        if ( id == null )
+        {
+            int c = peek();
+            throw new UnsupportedSyntaxException(
+                c == EOF ? "unexpected end of file" : "unexpected character " + (char) c );
+        }
+        return id;
+    }
+
+    /**
+     * Reads a quoted or unquoted id. Returns null if there is none at the
+     * current position.
+     */
+    private String readId()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        tokenLength = 0;
+        int c = skipWhitespace();
+        if ( c == '"' )
+        {
+            next();
+            while ( (c = next()) != '"' )
+            {
+                if ( c == EOF )
+                {
+                    throw new UnsupportedSyntaxException( "unterminated string" );
+                }
+                if ( c == '\\' )
+                {
+                    int escaped = next();
+                    if ( escaped != '"' )
+                    {
+                        append( c );
+                    }
+                    c = escaped;
+                }
+                append( c );
+            }
+            return new String( token, 0, tokenLength, StandardCharsets.UTF_8 );
+        }
+        while ( isIdChar( c ) )
+        {
+            append( next() );
+            c = peek();
+        }
+        return tokenLength == 0 ? null : new String( token, 0, tokenLength, StandardCharsets.UTF_8 );
+    }
+
+    private static boolean isIdChar( int c )
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '.'
+            || c >= 0x80;
+    }
+
+    private void append( int c )
+    {
+        if ( tokenLength == token.length )
+        {
+            token = Arrays.copyOf( token, token.length * 2 );
+        }
+        token[tokenLength++] = (byte) c;
+    }
+
+    private int intern( String id )
+    {
+        Integer v = ids.get( id );
+        if ( v == null )
+        {
+            v = names.size();
+            ids.put( id, v );
+            names.add( id );
+        }
+        return v;
+    }
+
+    private void addEdge( int source, int target )
+    {
+        if ( edges == sources.length )
+        {
+            sources = Arrays.copyOf( sources, edges * 2 );
+            targets = Arrays.copyOf( targets, edges * 2 );
+        }
+        sources[edges] = source;
+        targets[edges] = target;
+        edges++;
+    }
+
+    private static void expect( int actual, char expected )
+        throws UnsupportedSyntaxException
+    {
+        if ( actual != expected )
+        {
+            throw new UnsupportedSyntaxException(
+                String.format( "expected %s but got %s", expected, actual == EOF ? "end of file" : (char) actual ) );
+        }
+    }
+
+    /**
+     * Skips whitespace and comments and returns the next character without
+     * consuming it.
+     */
+    private int skipWhitespace()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        while ( true )
+        {
+            int c = peek();
+            if ( c == ' ' || c == '\t' || c == '\n' || c == '\r' )
+            {
+                next();
+            }
+            else if ( c == '#' )
+            {
+                skipLine();
+            }
+            else if ( c == '/' )
+            {
+                next();
+                int n = peek();
+                if ( n == '/' )
+                {
+                    skipLine();
+                }
+                else if ( n == '*' )
+                {
+                    next();
+                    for ( int p = EOF - 1, q = next(); q != EOF && !(p == '*' && q == '/'); p = q, q = next() )
+                    {
+                    }
+                }
+                else
+                {
+                    throw new UnsupportedSyntaxException( "unexpected character /" );
+                }
+            }
+            else
+            {
+                return c;
+            }
+        }
+    }
+
+    private void skipLine()
+        throws IOException
+    {
+        int c;
+        do
+        {
+            c = next();
+        }
+        while ( c != '\n' && c != EOF );
+    }
+
+    private int peek()
+        throws IOException
+    {
+        if ( peeked == EOF - 1 )
+        {
+            peeked = read();
+        }
+        return peeked;
+    }
+
+    private int next()
+        throws IOException
+    {
+        int c = peek();
+        peeked = EOF - 1;
+        return c;
+    }
+
+    private int read()
+        throws IOException
+    {
+        if ( !buffer.hasRemaining() )
+        {
+            buffer.clear();
+            int n;
+            do
+            {
+                n = channel.read( buffer );
+            }
+            while ( n == 0 );
+            buffer.flip();
+            if ( n == EOF )
+            {
+                return EOF;
+            }
+        }
+        return buffer.get() & 0xff;
+    }
+
+    /**
+     * Graph read from a DOT file. Node ids are indexed by their int id.
+     * Every edge goes from {@code sources[i]} to {@code targets[i]}.
+     */
+    static class Result
+    {
+        final String[] ids;
+
+        final int[] sources;
+
+        final int[] targets;
+
+        Result( String[] ids, int[] sources, int[] targets )
+        {
+            this.ids = ids;
+            this.sources = sources;
+            this.targets = targets;
+        }
+    }
+
+    static class UnsupportedSyntaxException extends Exception
+    {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedSyntaxException( String message )
+        {
+            super( message );
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.teleivo.critic.maven;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds the modules that need to be rebuilt after some modules changed and
+ * predicts how long building only those takes.
+ */
+public class ImpactAnalysis
+{
+
+    private final ModuleGraph graph;
+
+    private final double[] weights;
+
+    /**
+     * @param graph the dependency graph
+     * @param weights build duration of each module in seconds
+     */
+    public ImpactAnalysis( ModuleGraph graph, double[] weights )
+    {
+        this.graph = graph;
+        this.weights = weights;
+    }
+
+    public Impact analyze( BitSet changed )
+    {
+        BitSet affected = graph.downstream( changed );
+        // like -am only the dependencies of the changed modules are built and
+        // not the ones of their dependents
+        BitSet required = graph.upstream( changed );
+        required.andNot( affected );
+
+        double[] affectedWeights = mask( affected );
+        List<Module> path = new ArrayList<>();
+        for ( int v : graph.criticalPath( affectedWeights ) )
+        {
+            // the path can start at unaffected modules which have no weight
+            if ( affected.get( v ) )
+            {
+                path.add( graph.getModule( v ) );
+            }
+        }
+
+        BitSet all = (BitSet) affected.clone();
+        all.or( required );
+        return new Impact( modules( changed ), modules( affected ), modules( required ), path,
+            graph.makespan( affectedWeights ), graph.makespan( mask( all ) ) );
+    }
+
+    /**
+     * Maps changed files to the modules they belong to. A file belongs to the
+     * innermost directory on its path named like the artifactId of a module
+     * as is the convention in Maven multi-module projects. If modules of
+     * different groupIds share that artifactId the file is mapped to all of
+     * them. Files that do not belong to any module are added to given unmapped
+     * collection.
+     */
+    public static BitSet changedModules( ModuleGraph graph, Collection<Path> files, Collection<Path> unmapped )
+    {
+        BitSet changed = new BitSet( graph.size() );
+        for ( Path file : files )
+        {
+            int[] modules = new int[0];
+            for ( Path dir = file.getParent(); dir != null && modules.length == 0; dir = dir.getParent() )
+            {
+                if ( dir.getFileName() != null )
+                {
+                    modules = graph.indexesOf( dir.getFileName().toString() );
+                }
+            }
+            if ( modules.length == 0 )
+            {
+                unmapped.add( file );
+                continue;
+            }
+            for ( int v : modules )
+            {
+                changed.set( v );
+            }
+        }
+        return changed;
+    }
+
+    private double[] mask( BitSet modules )
+    {
+        double[] result = new double[weights.length];
+        for ( int v = modules.nextSetBit( 0 ); v >= 0; v = modules.nextSetBit( v + 1 ) )
+        {
+            result[v] = weights[v];
+        }
+        return result;
+    }
+
+    private List<Module> modules( BitSet modules )
+    {
+        List<Module> result = new ArrayList<>();
+        for ( int v : graph.getOrder() )
+        {
+            if ( modules.get( v ) )
+            {
+                result.add( graph.getModule( v ) );
+            }
+        }
+        return result;
+    }
+
+    public static class Impact
+    {
+        private final List<Module> changed;
+
+        private final List<Module> affected;
+
+        private final List<Module> required;
+
+        private final List<Module> criticalPath;
+
+        private final double duration;
+
+        private final double durationIncludingRequired;
+
+        Impact( List<Module> changed, List<Module> affected, List<Module> required, List<Module> criticalPath,
+            double duration, double durationIncludingRequired )
+        {
+            this.changed = changed;
+            this.affected = affected;
+            this.required = required;
+            this.criticalPath = criticalPath;
+            this.duration = duration;
+            this.durationIncludingRequired = durationIncludingRequired;
+        }
+
+        /**
+         * Returns the changed modules in build order.
+         */
+        public List<Module> getChanged()
+        {
+            return changed;
+        }
+
+        /**
+         * Returns the changed modules and their transitive dependents in build
+         * order. These are built using {@code -pl <changed> -amd}.
+         */
+        public List<Module> getAffected()
+        {
+            return affected;
+        }
+
+        /**
+         * Returns the modules the changed modules transitively depend on that
+         * are not affected themselves. These are additionally built using
+         * {@code -pl <changed> -am -amd}. Other dependencies of the affected
+         * modules are not built by Maven and need to be installed already.
+         */
+        public List<Module> getRequired()
+        {
+            return required;
+        }
+
+        /**
+         * Returns the critical path through the affected modules in build
+         * order.
+         */
+        public List<Module> getCriticalPath()
+        {
+            return criticalPath;
+        }
+
+        /**
+         * Returns the seconds it takes to build the affected modules given
+         * their dependencies are already installed.
+         */
+        public double getDuration()
+        {
+            return duration;
+        }
+
+        /**
+         * Returns the seconds it takes to build the affected modules including
+         * the required modules like {@code -pl <changed> -am -amd} does.
+         */
+        public double getDurationIncludingRequired()
+        {
+            return durationIncludingRequired;
+        }
+    }
+}
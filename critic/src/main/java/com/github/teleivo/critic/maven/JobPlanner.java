@@ -0,0 +1,263 @@
+package com.github.teleivo.critic.maven;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plans which modules tests to move out of the Maven reactor build into
+ * separate CI jobs so that the overall pipeline finishes as early as possible.
+ * <p>
+ * The reactor job still compiles every module but only runs the tests of
+ * modules that were not moved. Every additional job first builds the modules
+ * it tests including their dependencies without running tests (like
+ * {@code mvn install -DskipTests -pl <modules> -am}) and then runs the tests
+ * of its modules one after the other. Every job, including the reactor job,
+ * pays a setup overhead. The pipeline takes as long as its slowest job.
+ * <p>
+ * Finding the optimal assignment is a scheduling problem which is NP-hard.
+ * The planner uses a greedy search instead. It repeatedly moves the module on
+ * the reactors critical path to the job where it reduces the pipeline
+ * duration the most until no move reduces it any further.
+ */
+public class JobPlanner
+{
+
+    private static final double EPSILON = 1e-9;
+
+    private final ModuleGraph graph;
+
+    private final double[] compile;
+
+    private final double[] test;
+
+    private final double overhead;
+
+    private final double[] compileFinish;
+
+    /**
+     * @param graph the dependency graph
+     * @param compile seconds it takes to build each module without running
+     *        its tests
+     * @param test seconds it takes to run the tests of each module
+     * @param overhead seconds it takes to set up a job
+     */
+    public JobPlanner( ModuleGraph graph, double[] compile, double[] test, double overhead )
+    {
+        this.graph = graph;
+        this.compile = compile;
+        this.test = test;
+        this.overhead = overhead;
+        this.compileFinish = graph.finishTimes( compile );
+    }
+
+    /**
+     * Returns the best plan found for every number of additional jobs from 0
+     * up to given jobs.
+     */
+    public List<Plan> plan( int jobs )
+    {
+        List<Plan> plans = new ArrayList<>();
+        for ( int k = 0; k <= jobs; k++ )
+        {
+            plans.add( planFor( k ) );
+        }
+        return plans;
+    }
+
+    private Plan planFor( int jobs )
+    {
+        int[] assignment = new int[graph.size()];
+        double[] compileMax = new double[jobs + 1];
+        double[] testSum = new double[jobs + 1];
+        int[] size = new int[jobs + 1];
+
+        double current = reactorDuration( assignment );
+        while ( true )
+        {
+            double best = current;
+            double bestReactor = Double.MAX_VALUE;
+            int bestModule = -1;
+            int bestJob = -1;
+            for ( int c : graph.criticalPath( reactorWeights( assignment ) ) )
+            {
+                if ( assignment[c] != 0 || test[c] <= 0 )
+                {
+                    continue;
+                }
+                assignment[c] = -1;
+                double reactor = reactorDuration( assignment );
+                assignment[c] = 0;
+
+                boolean triedEmptyJob = false;
+                for ( int j = 1; j <= jobs; j++ )
+                {
+                    // all empty jobs are equivalent
+                    if ( size[j] == 0 )
+                    {
+                        if ( triedEmptyJob )
+                        {
+                            continue;
+                        }
+                        triedEmptyJob = true;
+                    }
+                    double total = reactor;
+                    for ( int i = 1; i <= jobs; i++ )
+                    {
+                        if ( i == j )
+                        {
+                            total = Math.max( total,
+                                overhead + Math.max( compileMax[i], compileFinish[c] ) + testSum[i] + test[c] );
+                        }
+                        else if ( size[i] > 0 )
+                        {
+                            total = Math.max( total, overhead + compileMax[i] + testSum[i] );
+                        }
+                    }
+                    // prefer the move leaving the reactor with more slack
+                    // among moves that reduce the pipeline equally
+                    if ( total < current - EPSILON && (total < best - EPSILON
+                        || (total < best + EPSILON && reactor < bestReactor - EPSILON)) )
+                    {
+                        best = total;
+                        bestReactor = reactor;
+                        bestModule = c;
+                        bestJob = j;
+                    }
+                }
+            }
+            if ( bestModule == -1 )
+            {
+                break;
+            }
+            assignment[bestModule] = bestJob;
+            compileMax[bestJob] = Math.max( compileMax[bestJob], compileFinish[bestModule] );
+            testSum[bestJob] += test[bestModule];
+            size[bestJob]++;
+            current = best;
+        }
+
+        return toPlan( assignment, jobs, compileMax, testSum, size );
+    }
+
+    private Plan toPlan( int[] assignment, int jobs, double[] compileMax, double[] testSum, int[] size )
+    {
+        List<Job> result = new ArrayList<>();
+        for ( int j = 1; j <= jobs; j++ )
+        {
+            if ( size[j] == 0 )
+            {
+                continue;
+            }
+            List<Module> modules = new ArrayList<>();
+            for ( int v : graph.getOrder() )
+            {
+                if ( assignment[v] == j )
+                {
+                    modules.add( graph.getModule( v ) );
+                }
+            }
+            result.add( new Job( modules, overhead + compileMax[j] + testSum[j] ) );
+        }
+        return new Plan( jobs, reactorDuration( assignment ), result );
+    }
+
+    private double reactorDuration( int[] assignment )
+    {
+        return overhead + graph.makespan( reactorWeights( assignment ) );
+    }
+
+    private double[] reactorWeights( int[] assignment )
+    {
+        double[] weights = new double[graph.size()];
+        for ( int v = 0; v < weights.length; v++ )
+        {
+            weights[v] = compile[v] + (assignment[v] == 0 ? test[v] : 0);
+        }
+        return weights;
+    }
+
+    /**
+     * Plan for a given number of additional jobs. Jobs that would not reduce
+     * the pipeline duration are left out so there might be fewer jobs than
+     * allowed.
+     */
+    public static class Plan
+    {
+        private final int allowedJobs;
+
+        private final double reactorDuration;
+
+        private final List<Job> jobs;
+
+        Plan( int allowedJobs, double reactorDuration, List<Job> jobs )
+        {
+            this.allowedJobs = allowedJobs;
+            this.reactorDuration = reactorDuration;
+            this.jobs = Collections.unmodifiableList( jobs );
+        }
+
+        public int getAllowedJobs()
+        {
+            return allowedJobs;
+        }
+
+        /**
+         * Returns the seconds it takes the reactor job to finish.
+         */
+        public double getReactorDuration()
+        {
+            return reactorDuration;
+        }
+
+        public List<Job> getJobs()
+        {
+            return jobs;
+        }
+
+        /**
+         * Returns the seconds it takes the entire pipeline to finish.
+         */
+        public double getDuration()
+        {
+            double max = reactorDuration;
+            for ( Job j : jobs )
+            {
+                max = Math.max( max, j.getDuration() );
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Job running the tests of modules outside of the reactor build.
+     */
+    public static class Job
+    {
+        private final List<Module> modules;
+
+        private final double duration;
+
+        Job( List<Module> modules, double duration )
+        {
+            this.modules = Collections.unmodifiableList( modules );
+            this.duration = duration;
+        }
+
+        /**
+         * Returns the modules whose tests run in this job in build order.
+         */
+        public List<Module> getModules()
+        {
+            return modules;
+        }
+
+        /**
+         * Returns the seconds it takes this job to finish.
+         */
+        public double getDuration()
+        {
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.github.teleivo.critic.maven;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Compact view of the Maven build order. Modules are identified by an int id
+ * in the range {@code [0, size())}. Dependencies and dependents are stored as
+ * adjacency arrays and a topological build order is computed once so that
+ * longest path computations with different module weights are cheap.
+ */
+public class ModuleGraph
+{
+
+    private final Module[] modules;
+
+    private final Map<Module, Integer> index;
+
+    private final Map<String, int[]> artifactIndex;
+
+    private final int[][] dependencies;
+
+    private final int[][] dependents;
+
+    private final int[] order;
+
+    /**
+     * @param modules modules indexed by their id
+     * @param dependencies ids of the modules each module depends on
+     */
+    public ModuleGraph( Module[] modules, int[][] dependencies )
+    {
+        if ( modules.length != dependencies.length )
+        {
+            throw new IllegalArgumentException(
+                String.format( "expected dependencies for %d modules but got %d", modules.length,
+                    dependencies.length ) );
+        }
+        this.modules = modules;
+        this.dependencies = dependencies;
+
+        this.index = new HashMap<>();
+        this.artifactIndex = new HashMap<>();
+        for ( int v = 0; v < modules.length; v++ )
+        {
+            index.put( modules[v], v );
+            // artifactIds are only unique within a groupId
+            int[] ids = artifactIndex.getOrDefault( modules[v].getArtifactId(), new int[0] );
+            ids = Arrays.copyOf( ids, ids.length + 1 );
+            ids[ids.length - 1] = v;
+            artifactIndex.put( modules[v].getArtifactId(), ids );
+        }
+
+        int[] degree = new int[modules.length];
+        for ( int[] deps : dependencies )
+        {
+            for ( int d : deps )
+            {
+                degree[d]++;
+            }
+        }
+        this.dependents = new int[modules.length][];
+        for ( int v = 0; v < modules.length; v++ )
+        {
+            dependents[v] = new int[degree[v]];
+        }
+        Arrays.fill( degree, 0 );
+        for ( int v = 0; v < modules.length; v++ )
+        {
+            for ( int d : dependencies[v] )
+            {
+                dependents[d][degree[d]++] = v;
+            }
+        }
+        this.order = topologicalOrder();
+    }
+
+    /**
+     * Creates a module graph from a graph in Maven build order, so with edges
+     * going from a dependency to its dependent. The given root vertex is left
+     * out.
+     */
+    static ModuleGraph of( Graph<Integer, DefaultWeightedEdge> g, Map<Integer, Module> modules, Integer root )
+    {
+        Map<Integer, Integer> ids = new HashMap<>();
+        List<Module> ms = new ArrayList<>();
+        for ( Integer v : g.vertexSet() )
+        {
+            if ( v.equals( root ) )
+            {
+                continue;
+            }
+            ids.put( v, ms.size() );
+            ms.add( modules.get( v ) );
+        }
+
+        int[][] dependencies = new int[ms.size()][];
+        for ( Map.Entry<Integer, Integer> v : ids.entrySet() )
+        {
+            dependencies[v.getValue()] = g.incomingEdgesOf( v.getKey() )
+                .stream()
+                .map( g::getEdgeSource )
+                .filter( s -> !s.equals( root ) )
+                .mapToInt( ids::get )
+                .toArray();
+        }
+        return new ModuleGraph( ms.toArray( new Module[0] ), dependencies );
+    }
+
+    public int size()
+    {
+        return modules.length;
+    }
+
+    public Module getModule( int v )
+    {
+        return modules[v];
+    }
+
+    /**
+     * Returns the id of given module or -1 if it is not part of the graph.
+     */
+    public int indexOf( Module m )
+    {
+        return index.getOrDefault( m, -1 );
+    }
+
+    /**
+     * Returns the id of the module with given coordinates
+     * {@code groupId:artifactId} or given artifactId. Returns -1 if no such
+     * module is part of the graph or if the artifactId is ambiguous.
+     */
+    public int indexOf( String coordinatesOrArtifactId )
+    {
+        if ( coordinatesOrArtifactId.contains( ":" ) )
+        {
+            return indexOf( new Module( coordinatesOrArtifactId ) );
+        }
+        int[] ids = indexesOf( coordinatesOrArtifactId );
+        return ids.length == 1 ? ids[0] : -1;
+    }
+
+    /**
+     * Returns the ids of all modules with given artifactId.
+     */
+    public int[] indexesOf( String artifactId )
+    {
+        return artifactIndex.getOrDefault( artifactId, new int[0] );
+    }
+
+    /**
+     * Returns true if given coordinates or artifactId are an artifactId
+     * shared by modules of different groupIds.
+     */
+    public boolean isAmbiguous( String coordinatesOrArtifactId )
+    {
+        return !coordinatesOrArtifactId.contains( ":" ) && indexesOf( coordinatesOrArtifactId ).length > 1;
+    }
+
+    public int[] getDependencies( int v )
+    {
+        return dependencies[v];
+    }
+
+    public int[] getDependents( int v )
+    {
+        return dependents[v];
+    }
+
+    /**
+     * Returns the module ids in an order in which Maven could build them.
+     */
+    public int[] getOrder()
+    {
+        return order;
+    }
+
+    /**
+     * Returns given modules and all modules that transitively depend on them.
+     * These are the modules Maven builds using {@code -pl <modules> -amd}.
+     */
+    public BitSet downstream( BitSet modules )
+    {
+        BitSet result = (BitSet) modules.clone();
+        for ( int v : order )
+        {
+            if ( result.get( v ) )
+            {
+                continue;
+            }
+            for ( int d : dependencies[v] )
+            {
+                if ( result.get( d ) )
+                {
+                    result.set( v );
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns given modules and all modules they transitively depend on. These
+     * are the modules Maven builds using {@code -pl <modules> -am}.
+     */
+    public BitSet upstream( BitSet modules )
+    {
+        BitSet result = (BitSet) modules.clone();
+        for ( int i = order.length - 1; i >= 0; i-- )
+        {
+            int v = order[i];
+            if ( result.get( v ) )
+            {
+                continue;
+            }
+            for ( int d : dependents[v] )
+            {
+                if ( result.get( d ) )
+                {
+                    result.set( v );
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the build duration of every module in seconds.
+     */
+    public double[] weights()
+    {
+        double[] weights = new double[modules.length];
+        for ( int v = 0; v < modules.length; v++ )
+        {
+            weights[v] = seconds( modules[v].getBuildDuration() );
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the earliest time in seconds each module can finish building
+     * given unlimited parallelism. This is the weight of the longest path
+     * ending at each module.
+     */
+    public double[] finishTimes( double[] weights )
+    {
+        double[] finish = new double[modules.length];
+        for ( int v : order )
+        {
+            double start = 0;
+            for ( int d : dependencies[v] )
+            {
+                start = Math.max( start, finish[d] );
+            }
+            finish[v] = start + weights[v];
+        }
+        return finish;
+    }
+
+    /**
+     * Returns the weight of the longest path in seconds, so the duration of
+     * the build given unlimited parallelism.
+     */
+    public double makespan( double[] weights )
+    {
+        double max = 0;
+        for ( double f : finishTimes( weights ) )
+        {
+            max = Math.max( max, f );
+        }
+        return max;
+    }
+
+    /**
+     * Returns the module ids on the longest path in build order.
+     */
+    public int[] criticalPath( double[] weights )
+    {
+        double[] finish = finishTimes( weights );
+        int end = -1;
+        for ( int v = 0; v < finish.length; v++ )
+        {
+            if ( end == -1 || finish[v] > finish[end] )
+            {
+                end = v;
+            }
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for ( int v = end; v != -1; )
+        {
+            path.add( v );
+            int next = -1;
+            for ( int d : dependencies[v] )
+            {
+                if ( next == -1 || finish[d] > finish[next] )
+                {
+                    next = d;
+                }
+            }
+            v = next;
+        }
+
+        int[] result = new int[path.size()];
+        for ( int i = 0; i < result.length; i++ )
+        {
+            result[i] = path.get( result.length - 1 - i );
+        }
+        return result;
+    }
+
+    static double seconds( Duration d )
+    {
+        return d.toNanos() / 1_000_000_000.0;
+    }
+
+    private int[] topologicalOrder()
+    {
+        int[] remaining = new int[modules.length];
+        int[] result = new int[modules.length];
+        int head = 0;
+        int tail = 0;
+        for ( int v = 0; v < modules.length; v++ )
+        {
+            remaining[v] = dependencies[v].length;
+            if ( remaining[v] == 0 )
+            {
+                result[tail++] = v;
+            }
+        }
+        while ( head < tail )
+        {
+            int v = result[head++];
+            for ( int d : dependents[v] )
+            {
+                if ( --remaining[d] == 0 )
+                {
+                    result[tail++] = d;
+                }
+            }
+        }
+        if ( tail != modules.length )
+        {
+            throw new IllegalArgumentException( "dependency graph contains a cycle" );
+        }
+        return result;
+    }
+}
@@ -0,0 +1,352 @@
+package com.github.teleivo.critic.maven;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transitive closure of the dependency graph. Every module has a row of bits
+ * with one bit per module it transitively depends on. This answers whether a
+ * module depends on another one in constant time. The longest path between
+ * two modules is computed from a table of longest paths starting at the
+ * dependency. The most recently used tables are cached.
+ * <p>
+ * The index needs {@code size()^2 / 8} bytes so about 12MB for 10k modules.
+ */
+public class ReachabilityIndex
+{
+
+    private static final int MAGIC = 0x43524958;
+
+    private static final int VERSION = 1;
+
+    private static final int CACHED_TABLES = 64;
+
+    private final ModuleGraph graph;
+
+    private final double[] weights;
+
+    private final long[][] closure;
+
+    private final long fingerprint;
+
+    private final int[] position;
+
+    private final Map<Integer, LongestPaths> tables = new LinkedHashMap<>( 16, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<Integer, LongestPaths> eldest )
+        {
+            return size() > CACHED_TABLES;
+        }
+    };
+
+    private ReachabilityIndex( ModuleGraph graph, double[] weights, long[][] closure, long fingerprint )
+    {
+        this.graph = graph;
+        this.weights = weights;
+        this.closure = closure;
+        this.fingerprint = fingerprint;
+        this.position = new int[graph.size()];
+        int[] order = graph.getOrder();
+        for ( int i = 0; i < order.length; i++ )
+        {
+            position[order[i]] = i;
+        }
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param graph the dependency graph
+     * @param weights build duration of each module in seconds
+     * @param fingerprint identifies the inputs the index was built from so
+     *        callers can tell if a stored index is stale
+     */
+    public static ReachabilityIndex build( ModuleGraph graph, double[] weights, long fingerprint )
+    {
+        int words = words( graph.size() );
+        long[][] closure = new long[graph.size()][];
+        for ( int v : graph.getOrder() )
+        {
+            long[] row = new long[words];
+            for ( int d : graph.getDependencies( v ) )
+            {
+                long[] dependency = closure[d];
+                for ( int i = 0; i < words; i++ )
+                {
+                    row[i] |= dependency[i];
+                }
+                row[d >>> 6] |= 1L << d;
+            }
+            closure[v] = row;
+        }
+        return new ReachabilityIndex( graph, weights, closure, fingerprint );
+    }
+
+    public ModuleGraph getGraph()
+    {
+        return graph;
+    }
+
+    public long getFingerprint()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * Returns true if module a transitively depends on module b.
+     */
+    public boolean dependsOn( int a, int b )
+    {
+        return (closure[a][b >>> 6] & (1L << b)) != 0;
+    }
+
+    /**
+     * Returns the longest chain of modules from dependency b to its dependent
+     * a in build order or null if a does not depend on b. The chain from a
+     * module to itself only contains that module even though it does not
+     * depend on itself.
+     */
+    public Chain longestChain( int a, int b )
+    {
+        if ( a != b && !dependsOn( a, b ) )
+        {
+            return null;
+        }
+
+        LongestPaths t = tables.computeIfAbsent( b, this::longestPaths );
+        List<Module> modules = new ArrayList<>();
+        for ( int v = a; v != -1; v = t.previous[v] )
+        {
+            modules.add( graph.getModule( v ) );
+        }
+        Collections.reverse( modules );
+        return new Chain( modules, t.duration[a] );
+    }
+
+    private LongestPaths longestPaths( int source )
+    {
+        double[] duration = new double[graph.size()];
+        int[] previous = new int[graph.size()];
+        previous[source] = -1;
+        duration[source] = weights[source];
+
+        int[] order = graph.getOrder();
+        for ( int i = position[source] + 1; i < order.length; i++ )
+        {
+            int v = order[i];
+            if ( !dependsOn( v, source ) )
+            {
+                continue;
+            }
+            double max = -1;
+            for ( int d : graph.getDependencies( v ) )
+            {
+                if ( (d == source || dependsOn( d, source )) && duration[d] > max )
+                {
+                    max = duration[d];
+                    previous[v] = d;
+                }
+            }
+            duration[v] = max + weights[v];
+        }
+        return new LongestPaths( duration, previous );
+    }
+
+    /**
+     * Writes the index to given file. The index is written to a temporary
+     * file next to it first and then moved in place so that the file never
+     * contains a partially written index.
+     */
+    public void write( Path file )
+        throws IOException
+    {
+        Path tmp = file.resolveSibling( "." + file.getFileName() + "." + ProcessHandle.current().pid() + ".tmp" );
+        try
+        {
+            writeTo( tmp );
+            Files.move( tmp, file, StandardCopyOption.ATOMIC_MOVE );
+        }
+        finally
+        {
+            Files.deleteIfExists( tmp );
+        }
+    }
+
+    private void writeTo( Path file )
+        throws IOException
+    {
+        try ( DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream( Files.newOutputStream( file ) ) ) )
+        {
+            out.writeInt( MAGIC );
+            out.writeInt( VERSION );
+            out.writeLong( fingerprint );
+            out.writeInt( graph.size() );
+            for ( int v = 0; v < graph.size(); v++ )
+            {
+                out.writeUTF( graph.getModule( v ).getCoordinates() );
+                out.writeDouble( weights[v] );
+                int[] dependencies = graph.getDependencies( v );
+                out.writeInt( dependencies.length );
+                for ( int d : dependencies )
+                {
+                    out.writeInt( d );
+                }
+            }
+            for ( long[] row : closure )
+            {
+                for ( long word : row )
+                {
+                    out.writeLong( word );
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the index from given file if it exists and was built from inputs
+     * with given fingerprint. Returns null if it needs to be built again
+     * because it is missing, outdated or cannot be read.
+     */
+    public static ReachabilityIndex load( Path file, long fingerprint )
+    {
+        if ( !Files.exists( file ) )
+        {
+            return null;
+        }
+        try
+        {
+            ReachabilityIndex idx = read( file );
+            return idx.getFingerprint() == fingerprint ? idx : null;
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the index from given file. Throws an {@link IOException} if the
+     * file is not an index of the current version or is truncated.
+     */
+    public static ReachabilityIndex read( Path file )
+        throws IOException
+    {
+        try ( DataInputStream in = new DataInputStream( new BufferedInputStream( Files.newInputStream( file ) ) ) )
+        {
+            return read( in, Files.size( file ) );
+        }
+        catch ( RuntimeException e )
+        {
+            // like ids out of range in a corrupt file
+            throw new IOException( String.format( "'%s' is not a valid reachability index", file ), e );
+        }
+    }
+
+    private static ReachabilityIndex read( DataInputStream in, long length )
+        throws IOException
+    {
+        if ( in.readInt() != MAGIC || in.readInt() != VERSION )
+        {
+            throw new IOException( "not a reachability index of version " + VERSION );
+        }
+        long fingerprint = in.readLong();
+        int size = in.readInt();
+        // the closure alone needs that many bytes so do not allocate
+        // arrays for a size that is corrupt
+        if ( size < 0 || (long) size * words( size ) * Long.BYTES > length )
+        {
+            throw new IOException( "invalid number of modules " + size );
+        }
+        Module[] modules = new Module[size];
+        double[] weights = new double[size];
+        int[][] dependencies = new int[size][];
+        for ( int v = 0; v < size; v++ )
+        {
+            modules[v] = new Module( in.readUTF() );
+            weights[v] = in.readDouble();
+            int count = in.readInt();
+            if ( count < 0 || count > size )
+            {
+                throw new IOException( "invalid number of dependencies " + count );
+            }
+            dependencies[v] = new int[count];
+            for ( int i = 0; i < dependencies[v].length; i++ )
+            {
+                dependencies[v][i] = in.readInt();
+            }
+        }
+        int words = words( size );
+        long[][] closure = new long[size][words];
+        for ( long[] row : closure )
+        {
+            for ( int i = 0; i < words; i++ )
+            {
+                row[i] = in.readLong();
+            }
+        }
+        return new ReachabilityIndex( new ModuleGraph( modules, dependencies ), weights, closure, fingerprint );
+    }
+
+    private static int words( int bits )
+    {
+        return (bits + 63) >>> 6;
+    }
+
+    private static class LongestPaths
+    {
+        final double[] duration;
+
+        final int[] previous;
+
+        LongestPaths( double[] duration, int[] previous )
+        {
+            this.duration = duration;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Chain of modules each depending on the previous one.
+     */
+    public static class Chain
+    {
+        private final List<Module> modules;
+
+        private final double duration;
+
+        Chain( List<Module> modules, double duration )
+        {
+            this.modules = Collections.unmodifiableList( modules );
+            this.duration = duration;
+        }
+
+        /**
+         * Returns the modules in build order.
+         */
+        public List<Module> getModules()
+        {
+            return modules;
+        }
+
+        /**
+         * Returns the seconds it takes to build the chain of modules.
+         */
+        public double getDuration()
+        {
+            return duration;
+        }
+    }
+}
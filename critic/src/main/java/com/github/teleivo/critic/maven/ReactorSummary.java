@@ -58,7 +58,10 @@ public class ReactorSummary
         return reactorModules;
     }
 
-    private static Map<String, String> parseNameToCoordinates( Path csv )
+    /**
+     * Parses the CSV mapping Maven project names to their coordinates.
+     */
+    public static Map<String, String> parseNameToCoordinates( Path csv )
         throws IOException
     {
         // NOTE: it does not handle a CSV header differently than the rest of
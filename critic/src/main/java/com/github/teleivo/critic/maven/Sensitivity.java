@@ -0,0 +1,143 @@
+package com.github.teleivo.critic.maven;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks modules by how much speeding up their build shortens the build of
+ * the entire project. Speeding up a module on the critical path only helps
+ * until another path becomes the longest so the gain is found by recomputing
+ * the longest path for each scenario.
+ * <p>
+ * Modules that are not on any longest path cannot shorten the build so their
+ * scenarios are not computed.
+ */
+public class Sensitivity
+{
+
+    private static final double EPSILON = 1e-9;
+
+    private final ModuleGraph graph;
+
+    private final double[] weights;
+
+    /**
+     * @param graph the dependency graph
+     * @param weights build duration of each module in seconds
+     */
+    public Sensitivity( ModuleGraph graph, double[] weights )
+    {
+        this.graph = graph;
+        this.weights = weights;
+    }
+
+    /**
+     * Ranks modules by the gain of speeding up each of them by given percent.
+     * A speedup of 100 percent means the module takes no time at all.
+     */
+    public List<Gain> rank( double speedupPercent )
+    {
+        double factor = 1 - speedupPercent / 100;
+        return rank( v -> weights[v] * factor );
+    }
+
+    /**
+     * Ranks modules by the gain of changing the build duration of one module
+     * at a time to the duration in seconds given by the scenario. Scenarios
+     * are evaluated in parallel.
+     */
+    public List<Gain> rank( IntToDoubleFunction scenario )
+    {
+        double[] finish = graph.finishTimes( weights );
+        double[] tail = tailTimes();
+        double total = Arrays.stream( finish ).max().orElse( 0 );
+
+        return IntStream.range( 0, graph.size() )
+            .parallel()
+            .mapToObj( v -> {
+                double saved = Math.max( 0, weights[v] - scenario.applyAsDouble( v ) );
+                boolean critical = finish[v] + tail[v] - weights[v] >= total - EPSILON;
+                if ( saved <= 0 || !critical )
+                {
+                    return new Gain( graph.getModule( v ), saved, 0 );
+                }
+                double[] w = weights.clone();
+                w[v] -= saved;
+                return new Gain( graph.getModule( v ), saved, total - graph.makespan( w ) );
+            } )
+            .sorted( Comparator.comparingDouble( Gain::getGain )
+                .thenComparingDouble( Gain::getGainPerSecond )
+                .reversed() )
+            .collect( Collectors.toList() );
+    }
+
+    /**
+     * Returns the weight of the longest path starting at each module.
+     */
+    private double[] tailTimes()
+    {
+        double[] tail = new double[graph.size()];
+        int[] order = graph.getOrder();
+        for ( int i = order.length - 1; i >= 0; i-- )
+        {
+            int v = order[i];
+            double max = 0;
+            for ( int d : graph.getDependents( v ) )
+            {
+                max = Math.max( max, tail[d] );
+            }
+            tail[v] = max + weights[v];
+        }
+        return tail;
+    }
+
+    public static class Gain
+    {
+        private final Module module;
+
+        private final double saved;
+
+        private final double gain;
+
+        Gain( Module module, double saved, double gain )
+        {
+            this.module = module;
+            this.saved = saved;
+            this.gain = gain;
+        }
+
+        public Module getModule()
+        {
+            return module;
+        }
+
+        /**
+         * Returns the seconds saved building the module.
+         */
+        public double getSaved()
+        {
+            return saved;
+        }
+
+        /**
+         * Returns the seconds saved building the entire project.
+         */
+        public double getGain()
+        {
+            return gain;
+        }
+
+        /**
+         * Returns the seconds saved building the entire project per second
+         * saved building the module.
+         */
+        public double getGainPerSecond()
+        {
+            return saved > 0 ? gain / saved : 0;
+        }
+    }
+}
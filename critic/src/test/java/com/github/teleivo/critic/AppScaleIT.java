@@ -0,0 +1,64 @@
+package com.github.teleivo.critic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import picocli.CommandLine;
+
+/**
+ * Runs critic on generated inputs of increasing size. Each run must finish
+ * within {@code scale.timeout.seconds}. The heap is limited by the
+ * {@code scale} profile running these tests.
+ * <p>
+ * Run using {@code mvn verify -Pscale}. Pass
+ * {@code -Dscale.modules=10,100000 -Dscale.log.megabytes=2048} to change the
+ * number of modules and the size of the build log.
+ */
+class AppScaleIT
+{
+
+    static Stream<Integer> modules()
+    {
+        return Arrays.stream( System.getProperty( "scale.modules", "10,1000,10000" ).split( "," ) )
+            .map( String::trim )
+            .map( Integer::valueOf );
+    }
+
+    @ParameterizedTest( name = "{0} modules" )
+    @MethodSource( "modules" )
+    void criticalPath( int modules, @TempDir Path dir )
+        throws IOException
+    {
+        long logBytes = Long.getLong( "scale.log.megabytes", 16 ) * 1024 * 1024;
+        Duration timeout = Duration.ofSeconds( Long.getLong( "scale.timeout.seconds", 60 ) );
+
+        WorkloadGenerator generator = new WorkloadGenerator( modules, logBytes, modules );
+        Path graph = dir.resolve( "dependency-graph.dot" );
+        Path mapping = dir.resolve( "maven_name_to_coordinates.csv" );
+        Path log = dir.resolve( "maven_build_log" );
+        Path output = dir.resolve( "critical_path.dot" );
+        generator.writeDependencyGraph( graph );
+        generator.writeArtifactMapping( mapping );
+        generator.writeBuildLog( log );
+
+        int exitCode = assertTimeoutPreemptively( timeout,
+            () -> new CommandLine( new App() ).execute( "--dependency-graph", graph.toString(),
+                "--artifact-mapping", mapping.toString(), "--build-log", log.toString(), "--output",
+                output.toString() ) );
+
+        assertEquals( 0, exitCode );
+        assertTrue( Files.size( output ) > 0 );
+    }
+}
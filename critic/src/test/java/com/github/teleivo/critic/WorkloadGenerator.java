@@ -0,0 +1,198 @@
+package com.github.teleivo.critic;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates synthetic inputs for critic. It writes a dependency graph in the
+ * DOT format of the depgraph-maven-plugin, a CSV mapping Maven project names
+ * to coordinates and a Maven build log with a reactor summary. The build log
+ * is padded with typical Maven output until it reaches a given size.
+ * <p>
+ * Modules only depend on modules with a lower number so the graph is acyclic.
+ * Most dependencies are on modules close by which creates long chains like in
+ * real projects. The same seed always generates the same files.
+ */
+class WorkloadGenerator
+{
+
+    static final String GROUP_ID = "org.example.generated";
+
+    private static final String[] NOISE = {
+        "[INFO] --- maven-compiler-plugin:3.8.1:compile (default-compile) @ %s ---",
+        "[INFO] Changes detected - recompiling the module!",
+        "[INFO] Compiling 312 source files to /home/runner/work/project/%s/target/classes",
+        "[INFO] --- maven-surefire-plugin:2.22.2:test (default-test) @ %s ---",
+        "[INFO] Tests run: 24, Failures: 0, Errors: 0, Skipped: 0, Time elapsed: 0.066 s - in org.example.generated.%sTest",
+        "[WARNING] /home/runner/work/project/%s/src/main/java/Foo.java:[42,17] deprecated API used",
+        "[INFO] Installing /home/runner/work/project/%s/target/%s.jar to /home/runner/.m2/repository",
+        "Downloaded from central: https://repo.maven.apache.org/maven2/org/example/%s/1.0/%s-1.0.pom (2.1 kB at 48 kB/s)",
+    };
+
+    private final int modules;
+
+    private final long logBytes;
+
+    private final Random random;
+
+    /**
+     * @param modules number of modules to generate
+     * @param logBytes minimum size of the build log in bytes
+     * @param seed seed of the random number generator
+     */
+    WorkloadGenerator( int modules, long logBytes, long seed )
+    {
+        this.modules = modules;
+        this.logBytes = logBytes;
+        this.random = new Random( seed );
+    }
+
+    static String artifactId( int module )
+    {
+        return "module-" + module;
+    }
+
+    static String name( int module )
+    {
+        return "Generated Module " + module;
+    }
+
+    void writeDependencyGraph( Path file )
+        throws IOException
+    {
+        try ( BufferedWriter w = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) )
+        {
+            w.write( "digraph \"generated\" {\n" );
+            w.write( "  node [shape=\"box\",style=\"rounded\",fontname=\"Helvetica\",fontsize=\"14\"]\n" );
+            w.write( "  edge [fontsize=\"10\",fontname=\"Helvetica\"]\n\n" );
+            w.write( "  // Node Definitions:\n" );
+            for ( int i = 0; i < modules; i++ )
+            {
+                w.write( String.format( "  \"%s:%s:jar\"[label=<%s>]\n", GROUP_ID, artifactId( i ),
+                    artifactId( i ) ) );
+            }
+            w.write( "\n  // Edge Definitions:\n" );
+            for ( int i = 1; i < modules; i++ )
+            {
+                int count = 1 + random.nextInt( Math.min( i, 4 ) );
+                Set<Integer> dependencies = new TreeSet<>();
+                while ( dependencies.size() < count )
+                {
+                    dependencies.add( dependency( i ) );
+                }
+                for ( int dependency : dependencies )
+                {
+                    w.write( String.format( "  \"%s:%s:jar\" -> \"%s:%s:jar\"\n", GROUP_ID, artifactId( i ),
+                        GROUP_ID, artifactId( dependency ) ) );
+                }
+            }
+            w.write( "}\n" );
+        }
+    }
+
+    void writeArtifactMapping( Path file )
+        throws IOException
+    {
+        try ( BufferedWriter w = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) )
+        {
+            w.write( "maven project name,maven project coordinates\n" );
+            for ( int i = 0; i < modules; i++ )
+            {
+                w.write( String.format( "%s,%s:%s\n", name( i ), GROUP_ID, artifactId( i ) ) );
+            }
+        }
+    }
+
+    void writeBuildLog( Path file )
+        throws IOException
+    {
+        try ( BufferedWriter w = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) )
+        {
+            // the log only contains ASCII so every char is written as one byte
+            long written = 0;
+            String l = "[INFO] Scanning for projects...\n";
+            w.write( l );
+            written += l.length();
+            for ( int i = 0; i < modules; i++ )
+            {
+                l = String.format( "[INFO] -----------------< %s:%s >-----------------\n", GROUP_ID,
+                    artifactId( i ) );
+                l += String.format( "[INFO] Building %s 1.0-SNAPSHOT [%d/%d]\n", name( i ), i + 1, modules );
+                w.write( l );
+                written += l.length();
+                // pad every module with at least one line until its share of
+                // the log size is reached
+                long share = logBytes / modules * (i + 1) + (i == modules - 1 ? logBytes % modules : 0);
+                do
+                {
+                    String noise = NOISE[random.nextInt( NOISE.length )];
+                    l = String.format( noise, artifactId( i ), artifactId( i ) ) + '\n';
+                    w.write( l );
+                    written += l.length();
+                }
+                while ( written < share );
+            }
+            w.write( "[INFO] ------------------------------------------------------------------------\n" );
+            w.write( "[INFO] Reactor Summary for Generated 1.0-SNAPSHOT:\n" );
+            w.write( "[INFO] \n" );
+            for ( int i = 0; i < modules; i++ )
+            {
+                w.write( String.format( "[INFO] %s .................... SUCCESS [%s]\n", name( i ), duration() ) );
+            }
+            w.write( "[INFO] ------------------------------------------------------------------------\n" );
+            w.write( "[INFO] BUILD SUCCESS\n" );
+            w.write( "[INFO] ------------------------------------------------------------------------\n" );
+        }
+    }
+
+    /**
+     * Picks a dependency for given module. Three out of four dependencies are
+     * on one of the 10 previous modules.
+     */
+    private int dependency( int module )
+    {
+        if ( random.nextInt( 4 ) > 0 )
+        {
+            return module - 1 - random.nextInt( Math.min( module, 10 ) );
+        }
+        return random.nextInt( module );
+    }
+
+    /**
+     * Returns a duration formatted like Maven does in its reactor summary.
+     * Most modules build in seconds while some take minutes.
+     */
+    private String duration()
+    {
+        if ( random.nextInt( 20 ) == 0 )
+        {
+            return String.format( "%02d:%02d min", 1 + random.nextInt( 10 ), random.nextInt( 60 ) );
+        }
+        return String.format( Locale.ROOT, "%6.3f s", random.nextDouble() * 59 );
+    }
+
+    /**
+     * Writes the inputs into given directory. Expects the number of modules
+     * and optionally the size of the build log in megabytes.
+     */
+    public static void main( String[] args )
+        throws IOException
+    {
+        Path dir = Paths.get( args[0] );
+        int modules = Integer.parseInt( args[1] );
+        long logBytes = args.length > 2 ? Long.parseLong( args[2] ) * 1024 * 1024 : 0;
+        WorkloadGenerator generator = new WorkloadGenerator( modules, logBytes, 1 );
+        Files.createDirectories( dir );
+        generator.writeDependencyGraph( dir.resolve( "dependency-graph.dot" ) );
+        generator.writeArtifactMapping( dir.resolve( "maven_name_to_coordinates.csv" ) );
+        generator.writeBuildLog( dir.resolve( "maven_build_log" ) );
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.teleivo.critic.maven;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class BuildCacheTest
+{
+
+    @Test
+    void parseCacheEntrySuccess()
+    {
+        assertArrayEquals( new String[] { "org.hisp.dhis:dhis-api", "true" },
+            BuildCache.parseCacheEntry(
+                "2021-12-01T08:30:34.9304126Z [INFO] Found cached build, restoring org.hisp.dhis:dhis-api from cache by checksum 3a2b" ) );
+        assertArrayEquals( new String[] { "org.hisp.dhis:dhis-service-core", "false" },
+            BuildCache.parseCacheEntry(
+                "[INFO] Local build was not found by checksum 9f3c for org.hisp.dhis:dhis-service-core" ) );
+        assertArrayEquals( new String[] { "org.hisp.dhis:dhis-service-core", "false" },
+            BuildCache.parseCacheEntry(
+                "[INFO] Remote build was not found by checksum 9f3c for org.hisp.dhis:dhis-service-core" ) );
+    }
+
+    @Test
+    void parseCacheEntryGivenOtherLines()
+    {
+        assertNull( BuildCache.parseCacheEntry(
+            "[INFO] DHIS Node service .................................. SUCCESS [  4.543 s]" ) );
+        assertNull( BuildCache.parseCacheEntry( "[INFO] Going to calculate checksum for project" ) );
+    }
+
+    @Test
+    void recordTracksHitAndMissDurations()
+    {
+        Module api = new Module( "org.hisp.dhis:dhis-api" );
+        Module core = new Module( "org.hisp.dhis:dhis-service-core" );
+        BuildCache cache = new BuildCache();
+
+        cache.record( modules( new Module( "org.hisp.dhis:dhis-api", Duration.ofSeconds( 1 ) ),
+            new Module( "org.hisp.dhis:dhis-service-core", Duration.ofSeconds( 60 ) ) ),
+            Map.of( api, true, core, false ) );
+        cache.record( modules( new Module( "org.hisp.dhis:dhis-api", Duration.ofSeconds( 30 ) ),
+            new Module( "org.hisp.dhis:dhis-service-core", Duration.ofSeconds( 80 ) ) ),
+            Map.of( api, false ) );
+
+        assertEquals( 1.0, cache.getHitDuration( api, -1 ) );
+        assertEquals( 30.0, cache.getMissDuration( api, -1 ) );
+        assertEquals( -1, cache.getHitDuration( core, -1 ) );
+        assertEquals( 70.0, cache.getMissDuration( core, -1 ) );
+    }
+
+    @Test
+    void getMeanHitDuration()
+    {
+        Module api = new Module( "org.hisp.dhis:dhis-api" );
+        Module core = new Module( "org.hisp.dhis:dhis-service-core" );
+        BuildCache cache = new BuildCache();
+        assertEquals( -1, cache.getMeanHitDuration( -1 ) );
+
+        cache.record( modules( new Module( "org.hisp.dhis:dhis-api", Duration.ofSeconds( 1 ) ),
+            new Module( "org.hisp.dhis:dhis-service-core", Duration.ofSeconds( 60 ) ) ),
+            Map.of( api, true, core, false ) );
+        cache.record( modules( new Module( "org.hisp.dhis:dhis-api", Duration.ofSeconds( 2 ) ),
+            new Module( "org.hisp.dhis:dhis-service-core", Duration.ofSeconds( 6 ) ) ),
+            Map.of( api, true, core, true ) );
+
+        assertEquals( 3.0, cache.getMeanHitDuration( -1 ) );
+    }
+
+    private static Map<Module, Module> modules( Module a, Module b )
+    {
+        return Map.of( a, a, b, b );
+    }
+}
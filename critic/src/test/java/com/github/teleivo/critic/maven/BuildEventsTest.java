@@ -0,0 +1,51 @@
+package com.github.teleivo.critic.maven;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BuildEventsTest
+{
+
+    @Test
+    void parseComputesProjectDurations( @TempDir Path dir )
+        throws IOException
+    {
+        Path events = dir.resolve( "critic-timings.jsonl" );
+        Files.write( events, List.of(
+            "{\"type\":\"session-started\",\"nanos\":1,\"epochMillis\":1638780242000}",
+            "{\"type\":\"project-started\",\"project\":\"org.hisp.dhis:dhis-api\",\"nanos\":100,\"thread\":\"main\"}",
+            "{\"type\":\"mojo-started\",\"project\":\"org.hisp.dhis:dhis-api\",\"mojo\":\"org.apache.maven.plugins:maven-compiler-plugin:3.8.1:compile\",\"execution\":\"default-compile\",\"nanos\":150,\"thread\":\"main\"}",
+            "{\"type\":\"project-started\",\"project\":\"org.hisp.dhis:dhis-support-commons\",\"nanos\":120,\"thread\":\"BuilderThread 1\"}",
+            "{\"type\":\"project-succeeded\",\"project\":\"org.hisp.dhis:dhis-api\",\"nanos\":1000000300,\"thread\":\"main\"}",
+            "{\"type\":\"project-failed\",\"project\":\"org.hisp.dhis:dhis-support-commons\",\"nanos\":125,\"thread\":\"BuilderThread 1\"}" ) );
+
+        Map<Module, Module> modules = BuildEvents.parse( events );
+
+        assertEquals( 2, modules.size() );
+        assertEquals( Duration.ofNanos( 1000000200 ),
+            modules.get( new Module( "org.hisp.dhis:dhis-api" ) ).getBuildDuration() );
+        assertEquals( Duration.ofNanos( 5 ),
+            modules.get( new Module( "org.hisp.dhis:dhis-support-commons" ) ).getBuildDuration() );
+    }
+
+    @Test
+    void parseEventUnescapesStrings()
+    {
+        Map<String, String> event = BuildEvents.parseEvent(
+            "{\"type\":\"project-started\",\"project\":\"a:b\",\"nanos\":-5,\"thread\":\"pool \\\"1\\\" \\u0041\"}" );
+
+        assertEquals( "project-started", event.get( "type" ) );
+        assertEquals( "a:b", event.get( "project" ) );
+        assertEquals( "-5", event.get( "nanos" ) );
+        assertEquals( "pool \"1\" A", event.get( "thread" ) );
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.teleivo.critic.maven;
+
+import static com.github.teleivo.critic.maven.ModuleGraphTest.modules;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.github.teleivo.critic.maven.BuildProgress.Projection;
+
+import org.junit.jupiter.api.Test;
+
+class BuildProgressTest
+{
+
+    // m0 <- m1 <- m3
+    // m0 <- m2 <- m3
+    // m4
+    private final ModuleGraph g = new ModuleGraph( modules( 5 ), new int[][] { {}, { 0 }, { 0 }, { 1, 2 }, {} } );
+
+    private final double[] estimates = { 2.0, 10.0, 6.0, 1.0, 5.0 };
+
+    private static final Instant START = Instant.parse( "2021-12-06T08:44:00Z" );
+
+    @Test
+    void projectGivenNoModuleStarted()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+        progress.accept( "[INFO] Using the MultiThreadedBuilder implementation with a thread count of 4", START );
+
+        Projection p = progress.project( START );
+
+        assertEquals( 13.0, p.getRemaining(), 1e-9 );
+        assertEquals( g.getModule( 0 ), p.getBound() );
+        assertEquals( 0, p.getBuilt() );
+        assertEquals( 5, p.getTotal() );
+    }
+
+    @Test
+    void projectGivenParallelBuild()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        assertFalse( progress.accept(
+            "[INFO] Using the MultiThreadedBuilder implementation with a thread count of 4", START ) );
+        assertTrue( progress.accept( "[INFO] ----------< org.example:m0 >----------", START ) );
+        assertTrue( progress.accept( "[INFO] ----------< org.example:m4 >----------", START ) );
+        assertTrue( progress.accept( "[INFO] ----------< org.example:m1 >----------", at( 2 ) ) );
+
+        Projection p = progress.project( at( 5 ) );
+
+        // m0 is built as m1 started, m1 has 7s left followed by m3
+        assertEquals( 4, progress.getThreads() );
+        assertEquals( 1, p.getBuilt() );
+        assertEquals( 8.0, p.getRemaining(), 1e-9 );
+        assertEquals( g.getModule( 1 ), p.getBound() );
+    }
+
+    @Test
+    void projectGivenSequentialBuild()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        progress.accept( "[INFO] ----------< org.example:m0 >----------", START );
+        progress.accept( "[INFO] ----------< org.example:m4 >----------", at( 2 ) );
+
+        Projection p = progress.project( at( 3 ) );
+
+        // m0 is built as the next module started, one thread needs to build
+        // the remaining 4s of m4 and m1, m2 and m3
+        assertEquals( 1, p.getBuilt() );
+        assertEquals( 21.0, p.getRemaining(), 1e-9 );
+        assertNull( p.getBound() );
+    }
+
+    @Test
+    void projectGivenModuleTakesLongerThanEstimated()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        progress.accept( "[INFO] Using the MultiThreadedBuilder implementation with a thread count of 4", START );
+        progress.accept( "[INFO] ----------< org.example:m4 >----------", START );
+
+        assertEquals( 13.0, progress.project( at( 20 ) ).getRemaining(), 1e-9 );
+    }
+
+    @Test
+    void acceptBuildsDependenciesThatNeverStarted()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        progress.accept( "[INFO] ----------< org.example:m3 >----------", START );
+
+        Projection p = progress.project( START );
+        assertEquals( 3, p.getBuilt() );
+        // one thread needs to build m3 and m4
+        assertEquals( 6.0, p.getRemaining(), 1e-9 );
+    }
+
+    @Test
+    void acceptTakesTimeFromTimestampedLines()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        progress.accept( "[INFO] Using the MultiThreadedBuilder implementation with a thread count of 4", START );
+        progress.accept( "2021-12-06T08:44:00.0000000Z [INFO] ----------< org.example:m0 >----------", at( 60 ) );
+
+        assertEquals( 12.0, progress.project( at( 1 ) ).getRemaining(), 1e-9 );
+    }
+
+    @Test
+    void acceptTakesTimeFromTimestampsWithOffset()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        progress.accept( "[INFO] Using the MultiThreadedBuilder implementation with a thread count of 4", START );
+        progress.accept( "2021-12-06T09:44:00.000+01:00 [INFO] ----------< org.example:m0 >----------", at( 60 ) );
+
+        assertEquals( 12.0, progress.project( at( 1 ) ).getRemaining(), 1e-9 );
+    }
+
+    @Test
+    void acceptSkipsModulesMissingFromBuildOrder()
+    {
+        // m4 takes longest but is excluded from the build
+        double[] estimates = { 2.0, 10.0, 6.0, 1.0, 50.0 };
+        Map<String, String> names = Map.of( "M0", "org.example:m0", "M1", "org.example:m1", "M2",
+            "org.example:m2", "M3", "org.example:m3", "M4", "org.example:m4" );
+        BuildProgress withoutNames = new BuildProgress( g, estimates );
+        BuildProgress progress = new BuildProgress( g, estimates, names );
+
+        for ( String line : new String[] { "[INFO] Reactor Build Order:", "[INFO] ",
+            "[INFO] M0                                   [pom]", "[INFO] M1                                   [jar]",
+            "[INFO] M2                                   [jar]", "[INFO] M3                                   [jar]",
+            "[INFO] ", "[INFO] Using the MultiThreadedBuilder implementation with a thread count of 4",
+            "[INFO] ----------< org.example:m0 >----------" } )
+        {
+            withoutNames.accept( line, START );
+            progress.accept( line, START );
+        }
+
+        Projection p = progress.project( START );
+        assertEquals( 13.0, p.getRemaining(), 1e-9 );
+        assertEquals( g.getModule( 0 ), p.getBound() );
+        assertEquals( 4, p.getTotal() );
+        // modules not in the build are only known without names once a
+        // module depending on them starts
+        assertEquals( g.getModule( 4 ), withoutNames.project( START ).getBound() );
+        assertEquals( 5, withoutNames.project( START ).getTotal() );
+    }
+
+    @Test
+    void acceptGivenColoredOutput()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        assertTrue( progress.accept(
+            "[\u001B[1;34mINFO\u001B[m] \u001B[1m--------< \u001B[0;36morg.example:m0\u001B[0;1m >--------\u001B[m",
+            START ) );
+    }
+
+    @Test
+    void acceptIgnoresUnknownAndRestartedModules()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        assertTrue( progress.accept( "[INFO] ----------< org.example:m0 >----------", START ) );
+        assertFalse( progress.accept( "[INFO] ----------< org.example:m0 >----------", START ) );
+        assertFalse( progress.accept( "[INFO] ----------< org.example:other >----------", START ) );
+        assertFalse( progress.accept( "[INFO] Building m0 1.0-SNAPSHOT [1/5]", START ) );
+    }
+
+    @Test
+    void acceptBuildEnd()
+    {
+        BuildProgress progress = new BuildProgress( g, estimates );
+
+        progress.accept( "[INFO] ----------< org.example:m0 >----------", START );
+        assertTrue( progress.accept( "[INFO] BUILD SUCCESS", at( 2 ) ) );
+
+        assertTrue( progress.isFinished() );
+        Projection p = progress.project( at( 2 ) );
+        assertEquals( 1, p.getBuilt() );
+        assertEquals( 0.0, p.getRemaining() );
+        assertFalse( progress.accept( "[INFO] ----------< org.example:m1 >----------", at( 3 ) ) );
+    }
+
+    private static Instant at( long seconds )
+    {
+        return START.plusSeconds( seconds );
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.teleivo.critic.maven;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.github.teleivo.critic.maven.DependencyGraphReader.Result;
+import com.github.teleivo.critic.maven.DependencyGraphReader.UnsupportedSyntaxException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DependencyGraphReaderTest
+{
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readDepgraphOutput()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        Result result = read( "digraph \"dhis\" {\n"
+            + "  node [shape=\"box\",style=\"rounded\",fontname=\"Helvetica\",fontsize=\"14\"]\n"
+            + "  edge [fontsize=\"10\",fontname=\"Helvetica\"]\n\n"
+            + "  // Node Definitions:\n"
+            + "  \"org.hisp.dhis:dhis-api:jar\"[label=<dhis-api>]\n"
+            + "  \"org.hisp.dhis:dhis-support-test:jar\"[label=<dhis-support-test<font point-size=\"10\"><br/>(test)</font>>]\n"
+            + "  \"org.hisp.dhis:dhis-support-commons:jar\"[label=<dhis-support-commons>]\n\n"
+            + "  // Edge Definitions:\n"
+            + "  \"org.hisp.dhis:dhis-support-commons:jar\" -> \"org.hisp.dhis:dhis-api:jar\"\n"
+            + "  \"org.hisp.dhis:dhis-support-test:jar\" -> \"org.hisp.dhis:dhis-support-commons:jar\"[style=\"dashed\"]\n"
+            + "}\n" );
+
+        assertArrayEquals( new String[] { "org.hisp.dhis:dhis-api:jar", "org.hisp.dhis:dhis-support-test:jar",
+            "org.hisp.dhis:dhis-support-commons:jar" }, result.ids );
+        assertArrayEquals( new int[] { 2, 1 }, result.sources );
+        assertArrayEquals( new int[] { 0, 2 }, result.targets );
+    }
+
+    @Test
+    void readGivenEdgeChainsCommentsAndAttributes()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        Result result = read( "strict digraph G {\n"
+            + "  rankdir=LR;\n"
+            + "  graph [label=\"a -> b\"];\n"
+            + "  /* a\n comment */\n"
+            + "# another comment\n"
+            + "  a -> \"b\" -> c_1 [weight=3];\n"
+            + "  \"with \\\"quote\\\"\";\n"
+            + "}" );
+
+        assertArrayEquals( new String[] { "a", "b", "c_1", "with \"quote\"" }, result.ids );
+        assertArrayEquals( new int[] { 0, 1 }, result.sources );
+        assertArrayEquals( new int[] { 1, 2 }, result.targets );
+    }
+
+    @Test
+    void readExample()
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        Result result = DependencyGraphReader.read( Paths.get( "../example/PR_9145_dependency_graph.dot" ) );
+
+        assertEquals( 30, result.ids.length );
+        assertEquals( 59, result.sources.length );
+    }
+
+    @Test
+    void readFailsGivenUnsupportedSyntax()
+    {
+        assertThrows( UnsupportedSyntaxException.class, () -> read( "graph { a -- b }" ) );
+        assertThrows( UnsupportedSyntaxException.class, () -> read( "digraph { subgraph s { a } }" ) );
+        assertThrows( UnsupportedSyntaxException.class, () -> read( "digraph { a -> { b c } }" ) );
+        assertThrows( UnsupportedSyntaxException.class, () -> read( "digraph { a:port -> b }" ) );
+        assertThrows( UnsupportedSyntaxException.class, () -> read( "digraph { a -> b " ) );
+        assertThrows( UnsupportedSyntaxException.class, () -> read( "digraph { } digraph { }" ) );
+    }
+
+    private Result read( String dot )
+        throws IOException,
+        UnsupportedSyntaxException
+    {
+        Path file = dir.resolve( "graph.dot" );
+        Files.write( file, dot.getBytes( StandardCharsets.UTF_8 ) );
+        return DependencyGraphReader.read( file );
+    }
+}
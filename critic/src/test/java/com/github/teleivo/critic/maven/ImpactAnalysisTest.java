@@ -0,0 +1,111 @@
+package com.github.teleivo.critic.maven;
+
+import static com.github.teleivo.critic.maven.ModuleGraphTest.modules;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.github.teleivo.critic.maven.ImpactAnalysis.Impact;
+
+import org.junit.jupiter.api.Test;
+
+class ImpactAnalysisTest
+{
+
+    // m0 <- m1 <- m2
+    // m0 <- m3
+    // m4
+    private final ModuleGraph g = new ModuleGraph( modules( 5 ), new int[][] { {}, { 0 }, { 1 }, { 0 }, {} } );
+
+    private final double[] weights = { 10.0, 2.0, 3.0, 1.0, 20.0 };
+
+    @Test
+    void analyzeGivenAChangeInTheMiddle()
+    {
+        BitSet changed = new BitSet();
+        changed.set( 1 );
+
+        Impact impact = new ImpactAnalysis( g, weights ).analyze( changed );
+
+        assertIterableEquals( List.of( g.getModule( 1 ) ), impact.getChanged() );
+        assertIterableEquals( List.of( g.getModule( 1 ), g.getModule( 2 ) ), impact.getAffected() );
+        assertIterableEquals( List.of( g.getModule( 0 ) ), impact.getRequired() );
+        assertIterableEquals( List.of( g.getModule( 1 ), g.getModule( 2 ) ), impact.getCriticalPath() );
+        assertEquals( 5.0, impact.getDuration() );
+        assertEquals( 15.0, impact.getDurationIncludingRequired() );
+    }
+
+    @Test
+    void analyzeGivenAChangeAtTheBottom()
+    {
+        BitSet changed = new BitSet();
+        changed.set( 0 );
+
+        Impact impact = new ImpactAnalysis( g, weights ).analyze( changed );
+
+        assertIterableEquals( List.of( g.getModule( 0 ), g.getModule( 1 ), g.getModule( 3 ), g.getModule( 2 ) ),
+            impact.getAffected() );
+        assertIterableEquals( List.of(), impact.getRequired() );
+        assertEquals( 15.0, impact.getDuration() );
+        assertEquals( 15.0, impact.getDurationIncludingRequired() );
+    }
+
+    @Test
+    void analyzeOnlyRequiresDependenciesOfChangedModules()
+    {
+        // m0 <- m1 <- m2
+        //       m3 <- m2
+        ModuleGraph g = new ModuleGraph( modules( 4 ), new int[][] { {}, { 0 }, { 1, 3 }, {} } );
+        double[] weights = { 10.0, 2.0, 3.0, 30.0 };
+        BitSet changed = new BitSet();
+        changed.set( 1 );
+
+        Impact impact = new ImpactAnalysis( g, weights ).analyze( changed );
+
+        // m3 is a dependency of the affected m2 but -am only builds m0
+        assertIterableEquals( List.of( g.getModule( 1 ), g.getModule( 2 ) ), impact.getAffected() );
+        assertIterableEquals( List.of( g.getModule( 0 ) ), impact.getRequired() );
+        assertEquals( 5.0, impact.getDuration() );
+        assertEquals( 15.0, impact.getDurationIncludingRequired() );
+    }
+
+    @Test
+    void changedModulesMapsFilesToInnermostModuleDirectory()
+    {
+        List<Path> unmapped = new ArrayList<>();
+
+        BitSet changed = ImpactAnalysis.changedModules( g,
+            List.of( Paths.get( "parent/m1/src/main/java/Foo.java" ), Paths.get( "m0/m3/pom.xml" ),
+                Paths.get( "README.md" ), Paths.get( ".github/workflows/ci.yml" ) ),
+            unmapped );
+
+        BitSet expected = new BitSet();
+        expected.set( 1 );
+        expected.set( 3 );
+        assertEquals( expected, changed );
+        assertIterableEquals( List.of( Paths.get( "README.md" ), Paths.get( ".github/workflows/ci.yml" ) ), unmapped );
+    }
+
+    @Test
+    void changedModulesMapsFilesToAllModulesSharingTheArtifactId()
+    {
+        ModuleGraph g = new ModuleGraph(
+            new Module[] { new Module( "org.example:core" ), new Module( "org.other:core" ),
+                new Module( "org.example:api" ) },
+            new int[][] { {}, {}, {} } );
+        List<Path> unmapped = new ArrayList<>();
+
+        BitSet changed = ImpactAnalysis.changedModules( g, List.of( Paths.get( "core/pom.xml" ) ), unmapped );
+
+        BitSet expected = new BitSet();
+        expected.set( 0 );
+        expected.set( 1 );
+        assertEquals( expected, changed );
+        assertIterableEquals( List.of(), unmapped );
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.teleivo.critic.maven;
+
+import static com.github.teleivo.critic.maven.ModuleGraphTest.modules;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import com.github.teleivo.critic.maven.JobPlanner.Plan;
+
+import org.junit.jupiter.api.Test;
+
+class JobPlannerTest
+{
+
+    @Test
+    void planGivenNoAdditionalJobs()
+    {
+        // a <- b
+        ModuleGraph g = new ModuleGraph( modules( 2 ), new int[][] { {}, { 0 } } );
+
+        List<Plan> plans = new JobPlanner( g, new double[] { 1, 1 }, new double[] { 2, 5 }, 0 ).plan( 0 );
+
+        assertEquals( 1, plans.size() );
+        assertEquals( 9.0, plans.get( 0 ).getDuration() );
+        assertTrue( plans.get( 0 ).getJobs().isEmpty() );
+    }
+
+    @Test
+    void planMovesTestsOfSlowModuleIntoJob()
+    {
+        // a <- b, a <- c
+        ModuleGraph g = new ModuleGraph( modules( 3 ), new int[][] { {}, { 0 }, { 0 } } );
+
+        List<Plan> plans = new JobPlanner( g, new double[] { 1, 1, 1 }, new double[] { 1, 10, 2 }, 0 ).plan( 1 );
+
+        assertEquals( 13.0, plans.get( 0 ).getDuration() );
+        Plan plan = plans.get( 1 );
+        // job builds a and b without tests and runs tests of b
+        assertEquals( 12.0, plan.getDuration() );
+        assertEquals( 5.0, plan.getReactorDuration() );
+        assertEquals( 1, plan.getJobs().size() );
+        assertIterableEquals( List.of( g.getModule( 1 ) ), plan.getJobs().get( 0 ).getModules() );
+    }
+
+    @Test
+    void planSpreadsTestsAcrossJobs()
+    {
+        // a <- b <- c
+        ModuleGraph g = new ModuleGraph( modules( 3 ), new int[][] { {}, { 0 }, { 1 } } );
+
+        List<Plan> plans = new JobPlanner( g, new double[] { 1, 1, 1 }, new double[] { 5, 5, 5 }, 0 ).plan( 3 );
+
+        assertEquals( 18.0, plans.get( 0 ).getDuration() );
+        // one job runs the tests of a and b
+        assertEquals( 12.0, plans.get( 1 ).getDuration() );
+        assertIterableEquals( List.of( g.getModule( 0 ), g.getModule( 1 ) ),
+            plans.get( 1 ).getJobs().get( 0 ).getModules() );
+        assertEquals( 8.0, plans.get( 2 ).getDuration() );
+        assertEquals( 2, plans.get( 2 ).getJobs().size() );
+        assertIterableEquals( List.of( g.getModule( 0 ) ), plans.get( 2 ).getJobs().get( 0 ).getModules() );
+        assertIterableEquals( List.of( g.getModule( 1 ) ), plans.get( 2 ).getJobs().get( 1 ).getModules() );
+        // a third job does not help as the reactor takes as long as the
+        // job running the tests of b
+        assertEquals( 8.0, plans.get( 3 ).getDuration() );
+    }
+
+    @Test
+    void planAccountsForJobOverhead()
+    {
+        ModuleGraph g = new ModuleGraph( modules( 2 ), new int[][] { {}, {} } );
+
+        List<Plan> plans = new JobPlanner( g, new double[] { 1, 1 }, new double[] { 10, 8 }, 2 ).plan( 2 );
+
+        assertEquals( 13.0, plans.get( 0 ).getDuration() );
+        // moving the tests of module 0 out leaves the reactor at 11s
+        assertEquals( 13.0, plans.get( 1 ).getDuration() );
+        assertEquals( 13.0, plans.get( 2 ).getDuration() );
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.teleivo.critic.maven;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+class ModuleGraphTest
+{
+
+    @Test
+    void criticalPathGivenAnEdgeFork()
+    {
+        // a <- b <- c
+        // a <- d
+        ModuleGraph g = new ModuleGraph( modules( 4 ), new int[][] { {}, { 0 }, { 1 }, { 0 } } );
+
+        double[] weights = { 1.0, 2.0, 3.0, 10.0 };
+
+        assertArrayEquals( new int[] { 0, 3 }, g.criticalPath( weights ) );
+        assertEquals( 11.0, g.makespan( weights ) );
+        assertArrayEquals( new double[] { 1.0, 3.0, 6.0, 11.0 }, g.finishTimes( weights ) );
+    }
+
+    @Test
+    void criticalPathGivenIndependentModules()
+    {
+        ModuleGraph g = new ModuleGraph( modules( 3 ), new int[][] { {}, {}, {} } );
+
+        double[] weights = { 1.0, 3.0, 2.0 };
+
+        assertArrayEquals( new int[] { 1 }, g.criticalPath( weights ) );
+        assertEquals( 3.0, g.makespan( weights ) );
+    }
+
+    @Test
+    void orderRespectsDependencies()
+    {
+        ModuleGraph g = new ModuleGraph( modules( 3 ), new int[][] { { 2 }, { 0 }, {} } );
+
+        assertArrayEquals( new int[] { 2, 0, 1 }, g.getOrder() );
+        assertArrayEquals( new int[] { 1 }, g.getDependents( 0 ) );
+    }
+
+    @Test
+    void failsGivenACycle()
+    {
+        assertThrows( IllegalArgumentException.class,
+            () -> new ModuleGraph( modules( 2 ), new int[][] { { 1 }, { 0 } } ) );
+    }
+
+    @Test
+    void indexOf()
+    {
+        ModuleGraph g = new ModuleGraph( modules( 2 ), new int[][] { {}, {} } );
+
+        assertEquals( 1, g.indexOf( new Module( "org.example:m1" ) ) );
+        assertEquals( -1, g.indexOf( new Module( "org.example:m2" ) ) );
+    }
+
+    @Test
+    void downstreamAndUpstream()
+    {
+        // a <- b <- c
+        // a <- d
+        ModuleGraph g = new ModuleGraph( modules( 4 ), new int[][] { {}, { 0 }, { 1 }, { 0 } } );
+        BitSet b = new BitSet();
+        b.set( 1 );
+
+        assertEquals( BitSet.valueOf( new long[] { 0b0110 } ), g.downstream( b ) );
+        assertEquals( BitSet.valueOf( new long[] { 0b0011 } ), g.upstream( b ) );
+    }
+
+    @Test
+    void indexOfGivenCoordinatesOrArtifactId()
+    {
+        ModuleGraph g = new ModuleGraph( modules( 2 ), new int[][] { {}, {} } );
+
+        assertEquals( 1, g.indexOf( "org.example:m1" ) );
+        assertEquals( 1, g.indexOf( "m1" ) );
+        assertEquals( -1, g.indexOf( "m2" ) );
+        assertFalse( g.isAmbiguous( "m1" ) );
+    }
+
+    @Test
+    void indexOfGivenArtifactIdSharedByGroupIds()
+    {
+        ModuleGraph g = new ModuleGraph(
+            new Module[] { new Module( "org.example:core" ), new Module( "org.other:core" ) },
+            new int[][] { {}, {} } );
+
+        assertEquals( -1, g.indexOf( "core" ) );
+        assertTrue( g.isAmbiguous( "core" ) );
+        assertArrayEquals( new int[] { 0, 1 }, g.indexesOf( "core" ) );
+        assertEquals( 1, g.indexOf( "org.other:core" ) );
+        assertFalse( g.isAmbiguous( "org.other:core" ) );
+    }
+
+    static Module[] modules( int n )
+    {
+        Module[] modules = new Module[n];
+        for ( int i = 0; i < n; i++ )
+        {
+            modules[i] = new Module( "org.example:m" + i );
+        }
+        return modules;
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.teleivo.critic.maven;
+
+import static com.github.teleivo.critic.maven.ModuleGraphTest.modules;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.teleivo.critic.maven.ReachabilityIndex.Chain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReachabilityIndexTest
+{
+
+    // m0 <- m1 <- m2 <- m4
+    // m0 <- m3 <------- m4
+    // m5
+    private final ModuleGraph g = new ModuleGraph( modules( 6 ),
+        new int[][] { {}, { 0 }, { 1 }, { 0 }, { 2, 3 }, {} } );
+
+    private final double[] weights = { 1.0, 2.0, 3.0, 10.0, 1.0, 5.0 };
+
+    @Test
+    void dependsOn()
+    {
+        ReachabilityIndex idx = ReachabilityIndex.build( g, weights, 42 );
+
+        assertTrue( idx.dependsOn( 4, 0 ) );
+        assertTrue( idx.dependsOn( 4, 1 ) );
+        assertTrue( idx.dependsOn( 2, 0 ) );
+        assertFalse( idx.dependsOn( 0, 4 ) );
+        assertFalse( idx.dependsOn( 3, 1 ) );
+        assertFalse( idx.dependsOn( 5, 0 ) );
+        assertFalse( idx.dependsOn( 0, 0 ) );
+    }
+
+    @Test
+    void longestChain()
+    {
+        ReachabilityIndex idx = ReachabilityIndex.build( g, weights, 42 );
+
+        Chain chain = idx.longestChain( 4, 0 );
+        assertIterableEquals( List.of( g.getModule( 0 ), g.getModule( 3 ), g.getModule( 4 ) ), chain.getModules() );
+        assertEquals( 12.0, chain.getDuration() );
+
+        chain = idx.longestChain( 4, 1 );
+        assertIterableEquals( List.of( g.getModule( 1 ), g.getModule( 2 ), g.getModule( 4 ) ), chain.getModules() );
+        assertEquals( 6.0, chain.getDuration() );
+
+        chain = idx.longestChain( 2, 2 );
+        assertIterableEquals( List.of( g.getModule( 2 ) ), chain.getModules() );
+        assertEquals( 3.0, chain.getDuration() );
+
+        assertNull( idx.longestChain( 5, 0 ) );
+    }
+
+    @Test
+    void writeAndRead( @TempDir Path dir )
+        throws IOException
+    {
+        Path file = dir.resolve( "index" );
+        ReachabilityIndex.build( g, weights, 42 ).write( file );
+
+        ReachabilityIndex idx = ReachabilityIndex.read( file );
+
+        assertEquals( 42, idx.getFingerprint() );
+        assertEquals( g.getModule( 4 ), idx.getGraph().getModule( 4 ) );
+        assertTrue( idx.dependsOn( 4, 0 ) );
+        assertFalse( idx.dependsOn( 5, 0 ) );
+        assertEquals( 12.0, idx.longestChain( 4, 0 ).getDuration() );
+    }
+
+    @Test
+    void writeReplacesExistingIndex( @TempDir Path dir )
+        throws IOException
+    {
+        Path file = dir.resolve( "index" );
+        ReachabilityIndex.build( g, weights, 1 ).write( file );
+        ReachabilityIndex.build( g, weights, 2 ).write( file );
+
+        assertEquals( 2, ReachabilityIndex.read( file ).getFingerprint() );
+        try ( Stream<Path> files = Files.list( dir ) )
+        {
+            // no temporary file is left behind
+            assertEquals( List.of( file ), files.collect( Collectors.toList() ) );
+        }
+    }
+
+    @Test
+    void load( @TempDir Path dir )
+        throws IOException
+    {
+        Path file = dir.resolve( "index" );
+        assertNull( ReachabilityIndex.load( file, 42 ) );
+
+        ReachabilityIndex.build( g, weights, 42 ).write( file );
+
+        assertNotNull( ReachabilityIndex.load( file, 42 ) );
+        assertNull( ReachabilityIndex.load( file, 43 ) );
+    }
+
+    @Test
+    void loadGivenCorruptIndex( @TempDir Path dir )
+        throws IOException
+    {
+        Path file = dir.resolve( "index" );
+        ReachabilityIndex.build( g, weights, 42 ).write( file );
+        byte[] index = Files.readAllBytes( file );
+
+        Files.write( file, Arrays.copyOf( index, 100 ) );
+        assertThrows( IOException.class, () -> ReachabilityIndex.read( file ) );
+        assertNull( ReachabilityIndex.load( file, 42 ) );
+
+        Files.write( file, "digraph {}".getBytes( StandardCharsets.UTF_8 ) );
+        assertNull( ReachabilityIndex.load( file, 42 ) );
+
+        // older version
+        byte[] old = index.clone();
+        ByteBuffer.wrap( old ).putInt( 4, 0 );
+        Files.write( file, old );
+        assertNull( ReachabilityIndex.load( file, 42 ) );
+
+        // huge number of modules
+        byte[] huge = index.clone();
+        ByteBuffer.wrap( huge ).putInt( 16, Integer.MAX_VALUE );
+        Files.write( file, huge );
+        assertNull( ReachabilityIndex.load( file, 42 ) );
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.teleivo.critic.maven;
+
+import static com.github.teleivo.critic.maven.ModuleGraphTest.modules;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import com.github.teleivo.critic.maven.Sensitivity.Gain;
+
+import org.junit.jupiter.api.Test;
+
+class SensitivityTest
+{
+
+    // m0 <- m1 <- m3
+    // m0 <- m2 <- m3
+    // m4
+    private final ModuleGraph g = new ModuleGraph( modules( 5 ), new int[][] { {}, { 0 }, { 0 }, { 1, 2 }, {} } );
+
+    private final double[] weights = { 2.0, 10.0, 6.0, 1.0, 5.0 };
+
+    @Test
+    void rankGivenModulesTakeNoTime()
+    {
+        List<Gain> gains = new Sensitivity( g, weights ).rank( 100 );
+
+        // the build takes 13s
+        // m1 gains only 4s as m2 becomes the bottleneck
+        assertGain( gains.get( 0 ), g.getModule( 1 ), 10.0, 4.0 );
+        assertGain( gains.get( 1 ), g.getModule( 0 ), 2.0, 2.0 );
+        assertGain( gains.get( 2 ), g.getModule( 3 ), 1.0, 1.0 );
+        // not on the critical path
+        assertEquals( 0.0, gains.get( 3 ).getGain() );
+        assertEquals( 0.0, gains.get( 4 ).getGain() );
+    }
+
+    @Test
+    void rankGivenPartialSpeedup()
+    {
+        List<Gain> gains = new Sensitivity( g, weights ).rank( 50 );
+
+        assertGain( gains.get( 0 ), g.getModule( 1 ), 5.0, 4.0 );
+        assertGain( gains.get( 1 ), g.getModule( 0 ), 1.0, 1.0 );
+        assertGain( gains.get( 2 ), g.getModule( 3 ), 0.5, 0.5 );
+    }
+
+    @Test
+    void rankGivenScenario()
+    {
+        List<Gain> gains = new Sensitivity( g, weights ).rank( v -> v == 4 ? 0 : weights[v] );
+
+        assertEquals( 0.0, gains.get( 0 ).getGain() );
+    }
+
+    private static void assertGain( Gain gain, Module module, double saved, double expected )
+    {
+        assertEquals( module, gain.getModule() );
+        assertEquals( saved, gain.getSaved(), 1e-9 );
+        assertEquals( expected, gain.getGain(), 1e-9 );
+    }
+}